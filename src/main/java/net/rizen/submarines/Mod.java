@@ -2,7 +2,11 @@ package net.rizen.submarines;
 
 import net.minecraft.util.math.BlockPos;
 import net.rizen.submarines.api.submarine.SubmarineScreenHandler;
+import net.rizen.submarines.api.submarine.fuel.FuelRegistry;
 import net.rizen.submarines.block.ManufacturingTableBlock;
+import net.rizen.submarines.block.SubmarineDockBlock;
+import net.rizen.submarines.block.SubmarineDockBlockEntity;
+import net.rizen.submarines.config.SubmarinesConfig;
 import net.rizen.submarines.crafting.DefaultRecipes;
 import net.rizen.submarines.entity.TacticalSubmarineEntity;
 import net.rizen.submarines.entity.LightweightTorpedoEntity;
@@ -13,11 +17,13 @@ import net.rizen.submarines.item.WarheadItem;
 import net.rizen.submarines.item.SteelCasingItem;
 import net.rizen.submarines.item.SubmarineRepairToolItem;
 import net.rizen.submarines.network.NetworkHandler;
+import net.rizen.submarines.world.SubmarineWorldData;
 import net.fabricmc.api.ModInitializer;
 import net.fabricmc.fabric.api.itemgroup.v1.FabricItemGroup;
 import net.fabricmc.fabric.api.screenhandler.v1.ExtendedScreenHandlerType;
 import net.minecraft.block.AbstractBlock;
 import net.minecraft.block.Block;
+import net.minecraft.block.entity.BlockEntityType;
 import net.minecraft.entity.EntityType;
 import net.minecraft.entity.SpawnGroup;
 import net.minecraft.item.BlockItem;
@@ -28,6 +34,7 @@ import net.minecraft.registry.Registries;
 import net.minecraft.registry.Registry;
 import net.minecraft.registry.RegistryKey;
 import net.minecraft.registry.RegistryKeys;
+import net.minecraft.registry.tag.TagKey;
 import net.minecraft.resource.featuretoggle.FeatureFlags;
 import net.minecraft.screen.ScreenHandlerType;
 import net.minecraft.sound.BlockSoundGroup;
@@ -47,8 +54,8 @@ public class Mod implements ModInitializer {
 			Identifier.of(MOD_ID, "tactical_submarine"),
 			EntityType.Builder.create((EntityType<TacticalSubmarineEntity> type, World world) -> new TacticalSubmarineEntity(type, world), SpawnGroup.MISC)
 					.dimensions(3.0f, 2.75f)
-					.maxTrackingRange(64)
-					.trackingTickInterval(1)
+					.maxTrackingRange(4)
+					.trackingTickInterval(20)
 					.build()
 	);
 
@@ -58,7 +65,7 @@ public class Mod implements ModInitializer {
 			EntityType.Builder.<LightweightTorpedoEntity>create((EntityType<LightweightTorpedoEntity> type, World world) -> new LightweightTorpedoEntity(type, world), SpawnGroup.MISC)
 					.dimensions(0.5f, 0.5f)
 					.maxTrackingRange(128)
-					.trackingTickInterval(1)
+					.trackingTickInterval(20)
 					.build()
 	);
 
@@ -113,6 +120,27 @@ public class Mod implements ModInitializer {
 			new BlockItem(MANUFACTURING_TABLE, new Item.Settings())
 	);
 
+	public static final Block SUBMARINE_DOCK = Registry.register(
+			Registries.BLOCK,
+			Identifier.of(MOD_ID, "submarine_dock"),
+			new SubmarineDockBlock(AbstractBlock.Settings.create()
+					.strength(3.5f)
+					.sounds(BlockSoundGroup.METAL)
+					.requiresTool())
+	);
+
+	public static final Item SUBMARINE_DOCK_ITEM = Registry.register(
+			Registries.ITEM,
+			Identifier.of(MOD_ID, "submarine_dock"),
+			new BlockItem(SUBMARINE_DOCK, new Item.Settings())
+	);
+
+	public static final BlockEntityType<SubmarineDockBlockEntity> SUBMARINE_DOCK_BLOCK_ENTITY = Registry.register(
+			Registries.BLOCK_ENTITY_TYPE,
+			Identifier.of(MOD_ID, "submarine_dock"),
+			BlockEntityType.Builder.create(SubmarineDockBlockEntity::new, SUBMARINE_DOCK).build(null)
+	);
+
 	public static final ScreenHandlerType<SubmarineScreenHandler> SUBMARINE_SCREEN_HANDLER = Registry.register(
 			Registries.SCREEN_HANDLER,
 			Identifier.of(MOD_ID, "submarine_inventory"),
@@ -164,6 +192,11 @@ public class Mod implements ModInitializer {
 			SoundEvent.of(Identifier.of(MOD_ID, "submarine_low_power"))
 	);
 
+	public static final TagKey<Block> SURFACE_FLOATERS = TagKey.of(
+			RegistryKeys.BLOCK,
+			Identifier.of(MOD_ID, "surface_floaters")
+	);
+
 	public static final RegistryKey<ItemGroup> SUBMARINES_GROUP = RegistryKey.of(
 			RegistryKeys.ITEM_GROUP,
 			Identifier.of(MOD_ID, "submarines")
@@ -183,13 +216,17 @@ public class Mod implements ModInitializer {
 						entries.add(WARHEAD_ITEM);
 						entries.add(STEEL_CASING_ITEM);
 						entries.add(MANUFACTURING_TABLE_ITEM);
+						entries.add(SUBMARINE_DOCK_ITEM);
 					})
 					.build()
 	);
 
 	@Override
 	public void onInitialize() {
+		SubmarinesConfig.load();
 		NetworkHandler.registerPackets();
 		DefaultRecipes.register();
+		FuelRegistry.register();
+		SubmarineWorldData.registerEvents();
 	}
 }
\ No newline at end of file
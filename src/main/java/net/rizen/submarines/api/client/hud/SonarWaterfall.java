@@ -0,0 +1,204 @@
+package net.rizen.submarines.api.client.hud;
+
+import net.minecraft.client.MinecraftClient;
+import net.minecraft.client.gui.DrawContext;
+import net.minecraft.client.texture.NativeImage;
+import net.minecraft.client.texture.NativeImageBackedTexture;
+import net.minecraft.entity.Entity;
+import net.minecraft.util.Identifier;
+import net.minecraft.util.math.Vec3d;
+import net.rizen.submarines.Mod;
+import net.rizen.submarines.api.submarine.BaseSubmarine;
+import net.rizen.submarines.api.submarine.MovementMode;
+import net.rizen.submarines.api.torpedo.BaseTorpedo;
+import net.rizen.submarines.world.SubmarineWorldData;
+
+import java.util.Arrays;
+
+/**
+ * Passive sonar "waterfall" shown next to the radar. Each column is a relative bearing and each row is one tick
+ * of history, newest at the top. Brighter cells mean more noise was heard on that bearing. Submarines beyond
+ * entity tracking range are heard faintly through the contact list the server sends to pilots.
+ *
+ * <p>The history lives in a GPU texture used as a ring buffer. Every tick only the newest row is written and
+ * uploaded, and the ring position moves by one row. The HUD then draws the whole history as a single textured quad
+ * whose V coordinate starts at the newest row and wraps around, so drawing costs the same no matter how many rows
+ * of history are kept.</p>
+ */
+public class SonarWaterfall {
+    private static final Identifier TEXTURE_ID = Identifier.of(Mod.MOD_ID, "hud/sonar_waterfall");
+
+    private static final int BEARING_BINS = 90;
+    private static final int HISTORY_ROWS = 128;
+    private static final float DEGREES_PER_BIN = 360.0f / BEARING_BINS;
+    private static final double LISTENING_RANGE = 64.0;
+    private static final double DISTANT_LISTENING_RANGE = 256.0;
+    private static final float DISTANT_GAIN = 0.5f;
+
+    private static final float STOPPED_NOISE = 0.05f;
+
+    private static final int BACKGROUND_COLOR = 0xC0000000;
+
+    private final float[] intensities = new float[BEARING_BINS];
+    private NativeImageBackedTexture texture;
+    private int headRow = 0;
+    private boolean cleared = true;
+
+    /**
+     * Records one row of bearing intensities. Called once per client tick.
+     *
+     * @param client the Minecraft client
+     */
+    public void tick(MinecraftClient client) {
+        if (client.player == null || client.world == null
+                || !(client.player.getVehicle() instanceof BaseSubmarine submarine)) {
+            if (!cleared && texture != null) {
+                texture.getImage().fillRect(0, 0, BEARING_BINS, HISTORY_ROWS, BACKGROUND_COLOR);
+                texture.upload();
+                cleared = true;
+            }
+            return;
+        }
+
+        ensureTexture(client);
+        listen(submarine);
+
+        headRow = (headRow - 1 + HISTORY_ROWS) % HISTORY_ROWS;
+        NativeImage image = texture.getImage();
+        for (int bin = 0; bin < BEARING_BINS; bin++) {
+            image.setColor(bin, headRow, toColor(intensities[bin]));
+        }
+
+        texture.bindTexture();
+        image.upload(0, 0, headRow, 0, headRow, BEARING_BINS, 1, false, false, false, false);
+        cleared = false;
+    }
+
+    /**
+     * Draws the waterfall as one textured quad.
+     *
+     * @param drawContext the draw context
+     * @param x left edge on screen
+     * @param y top edge on screen
+     * @param width width on screen
+     * @param height height on screen
+     */
+    public void render(DrawContext drawContext, int x, int y, int width, int height) {
+        if (texture == null) {
+            return;
+        }
+
+        drawContext.drawTexture(TEXTURE_ID, x, y, width, height,
+                0, headRow, BEARING_BINS, HISTORY_ROWS, BEARING_BINS, HISTORY_ROWS);
+        drawContext.drawBorder(x - 1, y - 1, width + 2, height + 2, 0xFF00FF00);
+
+        int bowX = x + width / 2;
+        drawContext.fill(bowX, y, bowX + 1, y + height, 0x4000FF00);
+    }
+
+    private void ensureTexture(MinecraftClient client) {
+        if (texture != null) {
+            return;
+        }
+
+        texture = new NativeImageBackedTexture(BEARING_BINS, HISTORY_ROWS, true);
+        texture.getImage().fillRect(0, 0, BEARING_BINS, HISTORY_ROWS, BACKGROUND_COLOR);
+        texture.upload();
+        client.getTextureManager().registerTexture(TEXTURE_ID, texture);
+    }
+
+    private void listen(BaseSubmarine submarine) {
+        Arrays.fill(intensities, 0.0f);
+
+        Vec3d listenerPos = submarine.getPos();
+        float listenerYaw = submarine.getYaw();
+
+        SubmarineWorldData.get(submarine.getWorld()).getWaterEntityIndex().forEachInRange(listenerPos, LISTENING_RANGE, entity -> {
+            if (entity == submarine || submarine.hasPassenger(entity)) {
+                return;
+            }
+
+            Vec3d relativePos = entity.getPos().subtract(listenerPos);
+            double distance = relativePos.length();
+            if (distance > LISTENING_RANGE) {
+                return;
+            }
+
+            float noise = getNoiseLevel(entity);
+            if (noise <= 0.0f) {
+                return;
+            }
+
+            float attenuation = (float) (1.0 - distance / LISTENING_RANGE);
+            addNoise(relativeBearing(relativePos, listenerYaw), noise * attenuation);
+        });
+
+        SubmarineWorldData.get(submarine.getWorld()).getContactProxies().forEach(submarine.getWorld().getTime(), proxy -> {
+            Vec3d relativePos = proxy.pos().subtract(listenerPos);
+            double distance = relativePos.length();
+            if (distance <= LISTENING_RANGE || distance > DISTANT_LISTENING_RANGE) {
+                return;
+            }
+
+            float noise = proxy.moving() ? getModeNoise(proxy.mode()) : STOPPED_NOISE;
+            float attenuation = (float) (1.0 - distance / DISTANT_LISTENING_RANGE) * DISTANT_GAIN;
+            addNoise(relativeBearing(relativePos, listenerYaw), noise * attenuation);
+        });
+    }
+
+    private float getNoiseLevel(Entity entity) {
+        if (entity instanceof BaseTorpedo) {
+            return 1.0f;
+        }
+
+        if (entity instanceof BaseSubmarine other) {
+            if (other.getSpeed() == 0.0f) {
+                return STOPPED_NOISE;
+            }
+            return getModeNoise(other.getMovementMode());
+        }
+
+        return 0.1f;
+    }
+
+    private float getModeNoise(MovementMode mode) {
+        return switch (mode) {
+            case SILENT -> 0.3f;
+            case CRUISE -> 0.6f;
+            case FLANK -> 1.0f;
+        };
+    }
+
+    private void addNoise(float bearing, float amount) {
+        int bin = (int) (bearing / DEGREES_PER_BIN);
+        intensities[bin] = Math.min(1.0f, intensities[bin] + amount);
+
+        float spill = amount * 0.4f;
+        int left = (bin - 1 + BEARING_BINS) % BEARING_BINS;
+        int right = (bin + 1) % BEARING_BINS;
+        intensities[left] = Math.min(1.0f, intensities[left] + spill);
+        intensities[right] = Math.min(1.0f, intensities[right] + spill);
+    }
+
+    /**
+     * Bearing relative to the bow, shifted so the bow sits in the middle column.
+     */
+    private float relativeBearing(Vec3d relativePos, float listenerYaw) {
+        float angle = (float) Math.toDegrees(Math.atan2(-relativePos.x, relativePos.z)) - listenerYaw + 180.0f;
+        angle %= 360.0f;
+        if (angle < 0) angle += 360.0f;
+        return Math.min(angle, 359.999f);
+    }
+
+    /**
+     * Converts an intensity into the ABGR format used by {@link NativeImage}.
+     */
+    private int toColor(float intensity) {
+        if (intensity <= 0.0f) {
+            return BACKGROUND_COLOR;
+        }
+        int green = (int) (intensity * 255);
+        int glow = green / 5;
+        return 0xE0000000 | (glow << 16) | (green << 8) | glow;
+    }
+}
@@ -7,6 +7,8 @@ import net.rizen.submarines.api.submarine.sonar.ContactType;
 import net.rizen.submarines.api.submarine.sonar.SonarContact;
 import net.rizen.submarines.api.submarine.sonar.SonarSystem;
 import net.rizen.submarines.api.submarine.BaseSubmarine;
+import net.rizen.submarines.api.submarine.TickClock;
+import net.fabricmc.fabric.api.client.event.lifecycle.v1.ClientTickEvents;
 import net.fabricmc.fabric.api.client.rendering.v1.HudRenderCallback;
 import net.minecraft.client.MinecraftClient;
 import net.minecraft.client.gui.DrawContext;
@@ -21,11 +23,12 @@ import java.util.*;
  * torpedo information, and the circular sonar display with sweeping line and contact markers.
  */
 public class SubmarineHud implements HudRenderCallback {
-    private float clientSweepAngle = 0.0f;
-    private static final float SWEEP_SPEED = 1.5f;
+    private final SonarWaterfall waterfall = new SonarWaterfall();
 
     public static void register() {
-        HudRenderCallback.EVENT.register(new SubmarineHud());
+        SubmarineHud hud = new SubmarineHud();
+        HudRenderCallback.EVENT.register(hud);
+        ClientTickEvents.END_CLIENT_TICK.register(hud.waterfall::tick);
     }
 
     @Override
@@ -84,7 +87,7 @@ public class SubmarineHud implements HudRenderCallback {
         float health = submarine.getHealth();
         float power = submarine.getPower();
         int depth = submarine.getDepth();
-        float speed = submarine.getSpeed() * 20;
+        float speed = submarine.getPreciseSpeed() * 20;
 
         int textY = startY;
 
@@ -123,7 +126,7 @@ public class SubmarineHud implements HudRenderCallback {
                     Text.translatable("submarines.hud.sonar.ping_hint"),
                     startX, textY + 84, 0xFFAAAAAA, false);
 
-            float cooldownProgress = SubmarineInputHandler.getSonarCooldownProgress();
+            float cooldownProgress = SubmarineInputHandler.getSonarCooldownProgress(submarine.getSonarSystem().getClock().getTick());
             int barWidth = 100;
             int barHeight = 4;
             int barX = startX;
@@ -231,16 +234,14 @@ public class SubmarineHud implements HudRenderCallback {
     private static final int RADAR_RADIUS = 45;
     private static final int RADAR_CENTER_X_OFFSET = 0;
     private static final int RADAR_CENTER_Y_OFFSET = -25;
+    private static final int WATERFALL_GAP = 10;
     private static final float GRID_CIRCLE_COUNT = 3;
 
     private void renderSonarDisplay(DrawContext drawContext, BaseSubmarine submarine, int screenWidth, int screenHeight, float tickDelta) {
-        SonarSystem sonarSystem = submarine.getSonarSystem();
-        long currentTime = System.currentTimeMillis();
-
-        clientSweepAngle += SWEEP_SPEED;
-        if (clientSweepAngle >= 360.0f) {
-            clientSweepAngle -= 360.0f;
-        }
+        TickClock clock = submarine.getSonarSystem().getClock();
+        long currentTick = clock.getTick();
+        double currentTime = clock.getTime(tickDelta);
+        float sweepAngle = SonarSystem.getSweepAngle(currentTime);
 
         int centerX = screenWidth / 2 + RADAR_CENTER_X_OFFSET;
         int centerY = screenHeight - RADAR_RADIUS - 20 + RADAR_CENTER_Y_OFFSET;
@@ -250,11 +251,14 @@ public class SubmarineHud implements HudRenderCallback {
 
         renderRadarBackground(drawContext, centerX, centerY);
         renderGridCircles(drawContext, centerX, centerY);
-        renderTerrainArcs(drawContext, submarine, centerX, centerY, currentTime);
-        renderContactBlips(drawContext, submarine, centerX, centerY, currentTime);
-        renderSweepLine(drawContext, centerX, centerY, clientSweepAngle, tickDelta);
+        renderTerrainArcs(drawContext, submarine, centerX, centerY, sweepAngle, currentTick, currentTime);
+        renderContactBlips(drawContext, submarine, centerX, centerY, sweepAngle, currentTick, currentTime);
+        renderSweepLine(drawContext, centerX, centerY, sweepAngle, tickDelta);
         renderCenterDot(drawContext, centerX, centerY);
 
+        int waterfallSize = RADAR_RADIUS * 2;
+        waterfall.render(drawContext, centerX + RADAR_RADIUS + WATERFALL_GAP, centerY - RADAR_RADIUS, waterfallSize, waterfallSize);
+
         RenderSystem.disableBlend();
     }
 
@@ -300,7 +304,8 @@ public class SubmarineHud implements HudRenderCallback {
         drawFilledCircle(drawContext, centerX, centerY, 2, dotColor);
     }
 
-    private void renderContactBlips(DrawContext drawContext, BaseSubmarine submarine, int centerX, int centerY, long currentTime) {
+    private void renderContactBlips(DrawContext drawContext, BaseSubmarine submarine, int centerX, int centerY,
+                                    float sweepAngle, long currentTick, double currentTime) {
         SonarSystem sonarSystem = submarine.getSonarSystem();
         List<SonarContact> contacts = sonarSystem.getContacts();
 
@@ -309,8 +314,8 @@ public class SubmarineHud implements HudRenderCallback {
                 continue;
             }
 
-            if (!contact.isRevealed() && isAngleInSweep(contact.getAngle(), clientSweepAngle)) {
-                contact.reveal(currentTime);
+            if (!contact.isRevealed() && isAngleInSweep(contact.getAngle(), sweepAngle)) {
+                contact.reveal(currentTick);
             }
 
             if (!contact.isRevealed()) {
@@ -338,7 +343,7 @@ public class SubmarineHud implements HudRenderCallback {
     }
 
     private boolean isAngleInSweep(float contactAngle, float sweepAngle) {
-        float tolerance = SWEEP_SPEED + 2.0f;
+        float tolerance = SonarSystem.SWEEP_SPEED + 2.0f;
         float diff = Math.abs(normalizeAngle(sweepAngle - contactAngle));
         return diff <= tolerance;
     }
@@ -349,7 +354,8 @@ public class SubmarineHud implements HudRenderCallback {
         return angle;
     }
 
-    private void renderTerrainArcs(DrawContext drawContext, BaseSubmarine submarine, int centerX, int centerY, long currentTime) {
+    private void renderTerrainArcs(DrawContext drawContext, BaseSubmarine submarine, int centerX, int centerY,
+                                    float sweepAngle, long currentTick, double currentTime) {
         SonarSystem sonarSystem = submarine.getSonarSystem();
         List<SonarContact> contacts = sonarSystem.getContacts();
 
@@ -359,8 +365,8 @@ public class SubmarineHud implements HudRenderCallback {
                 continue;
             }
 
-            if (!contact.isRevealed() && isAngleInSweep(contact.getAngle(), clientSweepAngle)) {
-                contact.reveal(currentTime);
+            if (!contact.isRevealed() && isAngleInSweep(contact.getAngle(), sweepAngle)) {
+                contact.reveal(currentTick);
             }
 
             if (!contact.isRevealed()) {
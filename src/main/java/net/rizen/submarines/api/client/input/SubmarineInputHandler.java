@@ -1,13 +1,10 @@
 package net.rizen.submarines.api.client.input;
 
 import net.minecraft.text.Text;
-import net.rizen.submarines.api.network.packet.SubmarineInputPacket;
-import net.rizen.submarines.api.network.packet.TorpedoFirePacket;
-import net.rizen.submarines.api.network.packet.DismountPacket;
-import net.rizen.submarines.api.network.packet.SonarPingPacket;
-import net.rizen.submarines.api.network.packet.MovementModeTogglePacket;
-import net.rizen.submarines.api.network.packet.TargetingModeTogglePacket;
+import net.rizen.submarines.api.network.packet.SubmarineActionPacket;
 import net.rizen.submarines.api.submarine.BaseSubmarine;
+import net.rizen.submarines.api.submarine.SubmarineControls;
+import net.rizen.submarines.api.submarine.TickClock;
 import net.fabricmc.fabric.api.client.event.lifecycle.v1.ClientTickEvents;
 import net.fabricmc.fabric.api.client.keybinding.v1.KeyBindingHelper;
 import net.fabricmc.fabric.api.client.networking.v1.ClientPlayNetworking;
@@ -29,12 +26,16 @@ public class SubmarineInputHandler {
     private static KeyBinding movementModeToggleKey;
     private static KeyBinding targetingModeToggleKey;
 
-    private static boolean wasForward = false;
-    private static boolean wasBackward = false;
-    private static boolean wasLeft = false;
-    private static boolean wasRight = false;
-    private static boolean wasUp = false;
-    private static boolean wasDown = false;
+    /**
+     * Held inputs are sent again this often so the server does not time them out. Released inputs are never
+     * repeated.
+     */
+    private static final int INPUT_REFRESH_TICKS = 40;
+
+    private static int lastSentInputs = 0;
+    private static int inputSubmarineId = -1;
+    private static int ticksSinceInputSent = 0;
+    private static int inputSequence = 0;
     private static boolean wasLeftMousePressed = false;
 
     private static boolean wasHudTogglePressed = false;
@@ -43,8 +44,8 @@ public class SubmarineInputHandler {
     private static boolean wasSonarTogglePressed = false;
 
     private static boolean sonarEnabled = false;
-    private static long lastSonarPingTime = 0;
-    private static final long SONAR_PING_COOLDOWN = 3000;
+    private static long lastSonarPingTick = Long.MIN_VALUE;
+    private static final long SONAR_PING_COOLDOWN_TICKS = 60;
 
     private static boolean submarineHudMode = true;
 
@@ -95,6 +96,8 @@ public class SubmarineInputHandler {
             if (client.player != null && client.player.hasVehicle() && client.player.getVehicle() instanceof BaseSubmarine submarine) {
                 handleSubmarineInput(client, submarine);
             } else {
+                lastSentInputs = 0;
+                inputSubmarineId = -1;
                 wasLeftMousePressed = false;
                 wasHudTogglePressed = false;
                 wasMovementTogglePressed = false;
@@ -106,7 +109,7 @@ public class SubmarineInputHandler {
     }
 
     private static void handleSubmarineInput(MinecraftClient client, BaseSubmarine submarine) {
-        long currentTime = System.currentTimeMillis();
+        long currentTick = TickClock.of(client.world).getTick();
 
         boolean hudTogglePressed = hudModeToggleKey.isPressed();
         if (hudTogglePressed && !wasHudTogglePressed) {
@@ -119,11 +122,12 @@ public class SubmarineInputHandler {
         wasHudTogglePressed = hudTogglePressed;
 
         if (dismountKey.wasPressed()) {
-            DismountPacket packet = new DismountPacket(submarine.getId());
-            ClientPlayNetworking.send(packet);
+            sendActions(submarine, lastSentInputs, SubmarineActionPacket.DISMOUNT);
             return;
         }
 
+        int actions = 0;
+
         boolean sonarTogglePressed = sonarToggleKey.isPressed();
         if (sonarTogglePressed && !wasSonarTogglePressed) {
             if (submarineHudMode) {
@@ -139,8 +143,7 @@ public class SubmarineInputHandler {
         boolean movementTogglePressed = movementModeToggleKey.isPressed();
         if (movementTogglePressed && !wasMovementTogglePressed) {
             if (submarineHudMode) {
-                MovementModeTogglePacket packet = new MovementModeTogglePacket(submarine.getId());
-                ClientPlayNetworking.send(packet);
+                actions |= SubmarineActionPacket.CYCLE_MOVEMENT_MODE;
                 client.player.sendMessage(
                     Text.translatable("submarines.movement_mode.changed", submarine.getMovementMode().next().getDisplayName()),
                     true
@@ -152,8 +155,7 @@ public class SubmarineInputHandler {
         boolean targetingTogglePressed = targetingModeToggleKey.isPressed();
         if (targetingTogglePressed && !wasTargetingTogglePressed) {
             if (submarineHudMode) {
-                TargetingModeTogglePacket packet = new TargetingModeTogglePacket(submarine.getId());
-                ClientPlayNetworking.send(packet);
+                actions |= SubmarineActionPacket.CYCLE_TARGETING_MODE;
                 client.player.sendMessage(
                     Text.translatable("submarines.targeting_mode.changed", submarine.getTargetingMode().next().getDisplayName()),
                     true
@@ -164,17 +166,13 @@ public class SubmarineInputHandler {
 
         if (sonarPingKey.wasPressed()) {
             if (submarineHudMode && sonarEnabled) {
-                long timeSinceLastPing = currentTime - lastSonarPingTime;
-
-                if (timeSinceLastPing >= SONAR_PING_COOLDOWN) {
+                if (getSonarCooldownProgress(currentTick) >= 1.0f) {
                     if (submarine.getPower() >= 2.0f) {
                         submarine.performSonarPing();
-
-                        SonarPingPacket packet = new SonarPingPacket(submarine.getId());
-                        ClientPlayNetworking.send(packet);
+                        actions |= SubmarineActionPacket.SONAR_PING;
 
                         client.player.playSound(net.rizen.submarines.Mod.SONAR_PING, 1.0f, 1.0f);
-                        lastSonarPingTime = currentTime;
+                        lastSonarPingTick = currentTick;
                     } else {
                         client.player.sendMessage(
                             Text.translatable("submarines.sonar.insufficient_power"),
@@ -196,8 +194,7 @@ public class SubmarineInputHandler {
             ) == GLFW.GLFW_PRESS;
 
             if (leftMousePressed && !wasLeftMousePressed) {
-                TorpedoFirePacket packet = new TorpedoFirePacket(submarine.getId());
-                ClientPlayNetworking.send(packet);
+                actions |= SubmarineActionPacket.FIRE_TORPEDO;
             }
             wasLeftMousePressed = leftMousePressed;
         } else {
@@ -212,23 +209,30 @@ public class SubmarineInputHandler {
         boolean up = InputUtil.isKeyPressed(client.getWindow().getHandle(), GLFW.GLFW_KEY_LEFT_SHIFT);
         boolean down = InputUtil.isKeyPressed(client.getWindow().getHandle(), GLFW.GLFW_KEY_LEFT_CONTROL);
 
-        boolean inputChanged = forward != wasForward || backward != wasBackward ||
-                left != wasLeft || right != wasRight ||
-                up != wasUp || down != wasDown;
+        int inputs = SubmarineControls.pack(forward, backward, left, right, up, down);
+        sendActions(submarine, inputs, actions);
+    }
+
+    /**
+     * Sends this tick's inputs and actions in one packet, if there is anything new to tell the server.
+     */
+    private static void sendActions(BaseSubmarine submarine, int inputs, int actions) {
+        ticksSinceInputSent++;
 
-        if (inputChanged || client.player.age % 5 == 0) {
-            SubmarineInputPacket packet = new SubmarineInputPacket(
-                    submarine.getId(), forward, backward, left, right, up, down
-            );
-            ClientPlayNetworking.send(packet);
-
-            wasForward = forward;
-            wasBackward = backward;
-            wasLeft = left;
-            wasRight = right;
-            wasUp = up;
-            wasDown = down;
+        // A new submarine always gets a first input, so the server has a sequence to acknowledge
+        boolean newSubmarine = submarine.getId() != inputSubmarineId;
+        if (actions == 0 && !newSubmarine && inputs == lastSentInputs
+                && (inputs == 0 || ticksSinceInputSent < INPUT_REFRESH_TICKS)) {
+            return;
         }
+
+        inputSequence = (inputSequence + 1) & 0xFFFF;
+        ClientPlayNetworking.send(new SubmarineActionPacket(submarine.getId(), inputs, inputSequence, actions));
+        submarine.getPrediction().setLatestInput(inputSequence, inputs);
+
+        inputSubmarineId = submarine.getId();
+        lastSentInputs = inputs;
+        ticksSinceInputSent = 0;
     }
 
     public static boolean isSonarEnabled() {
@@ -239,12 +243,18 @@ public class SubmarineInputHandler {
         return submarineHudMode;
     }
 
-    public static float getSonarCooldownProgress() {
-        long currentTime = System.currentTimeMillis();
-        long timeSinceLastPing = currentTime - lastSonarPingTime;
-        if (timeSinceLastPing >= SONAR_PING_COOLDOWN) {
+    /**
+     * Gets how far the sonar ping cooldown has recovered.
+     *
+     * @param currentTick the current game tick
+     * @return progress from 0 to 1, where 1 means a ping can be sent
+     */
+    public static float getSonarCooldownProgress(long currentTick) {
+        long ticksSinceLastPing = currentTick - lastSonarPingTick;
+        // Also treat time going backwards (e.g. after switching worlds) as ready
+        if (lastSonarPingTick == Long.MIN_VALUE || ticksSinceLastPing < 0 || ticksSinceLastPing >= SONAR_PING_COOLDOWN_TICKS) {
             return 1.0f;
         }
-        return (float) timeSinceLastPing / SONAR_PING_COOLDOWN;
+        return (float) ticksSinceLastPing / SONAR_PING_COOLDOWN_TICKS;
     }
 }
\ No newline at end of file
@@ -72,13 +72,20 @@ public class ManufacturingRecipe {
         }
 
         /**
-         * Adds an ingredient requirement to this recipe.
+         * Adds an ingredient requirement to this recipe. Adding an item that is already listed adds to its count.
          *
          * @param item the item required
          * @param count how many of this item are needed
          * @return this builder for chaining
          */
         public Builder ingredient(Item item, int count) {
+            for (int i = 0; i < ingredients.size(); i++) {
+                Ingredient existing = ingredients.get(i);
+                if (existing.getItem() == item) {
+                    ingredients.set(i, new Ingredient(item, existing.getCount() + count));
+                    return this;
+                }
+            }
             this.ingredients.add(new Ingredient(item, count));
             return this;
         }
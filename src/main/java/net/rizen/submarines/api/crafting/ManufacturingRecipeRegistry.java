@@ -94,12 +94,73 @@ public class ManufacturingRecipeRegistry {
      * @return the crafted item stack, or an empty stack if crafting failed
      */
     public static ItemStack tryCraft(PlayerInventory inventory, ManufacturingRecipe recipe) {
-        if (!hasIngredients(inventory, recipe)) {
-            return ItemStack.EMPTY;
+        List<ItemStack> results = tryCraft(inventory, recipe, 1);
+        return results.isEmpty() ? ItemStack.EMPTY : results.get(0);
+    }
+
+    /**
+     * Crafts a recipe as many times as the inventory allows, up to a limit. The inventory is scanned once to find
+     * which slots hold each ingredient and how many crafts they cover. Nothing is taken unless at least one craft
+     * fits, and then exactly the planned amounts are taken from the planned slots.
+     *
+     * @param inventory the player's inventory
+     * @param recipe the recipe to craft
+     * @param maxCrafts the most crafts to do
+     * @return the results merged into as few stacks as possible, or an empty list if nothing could be crafted
+     */
+    public static List<ItemStack> tryCraft(PlayerInventory inventory, ManufacturingRecipe recipe, int maxCrafts) {
+        List<ManufacturingRecipe.Ingredient> ingredients = recipe.getIngredients();
+        int ingredientCount = ingredients.size();
+        int[] available = new int[ingredientCount];
+        int[] slotIngredient = new int[inventory.size()];
+
+        for (int slot = 0; slot < inventory.size(); slot++) {
+            slotIngredient[slot] = -1;
+            ItemStack stack = inventory.getStack(slot);
+            if (stack.isEmpty()) {
+                continue;
+            }
+            for (int i = 0; i < ingredientCount; i++) {
+                if (stack.getItem() == ingredients.get(i).getItem()) {
+                    slotIngredient[slot] = i;
+                    available[i] += stack.getCount();
+                    break;
+                }
+            }
         }
 
-        consumeIngredients(inventory, recipe);
-        return recipe.getResult().copy();
+        int crafts = maxCrafts;
+        for (int i = 0; i < ingredientCount; i++) {
+            crafts = Math.min(crafts, available[i] / ingredients.get(i).getCount());
+        }
+        if (crafts <= 0) {
+            return List.of();
+        }
+
+        int[] remaining = new int[ingredientCount];
+        for (int i = 0; i < ingredientCount; i++) {
+            remaining[i] = ingredients.get(i).getCount() * crafts;
+        }
+        for (int slot = 0; slot < slotIngredient.length; slot++) {
+            int i = slotIngredient[slot];
+            if (i < 0 || remaining[i] == 0) {
+                continue;
+            }
+            ItemStack stack = inventory.getStack(slot);
+            int toRemove = Math.min(remaining[i], stack.getCount());
+            stack.decrement(toRemove);
+            remaining[i] -= toRemove;
+        }
+
+        ItemStack result = recipe.getResult();
+        int total = result.getCount() * crafts;
+        List<ItemStack> results = new ArrayList<>();
+        while (total > 0) {
+            int count = Math.min(total, result.getMaxCount());
+            results.add(result.copyWithCount(count));
+            total -= count;
+        }
+        return results;
     }
 
     private static boolean hasItems(PlayerInventory inventory, Item item, int amount) {
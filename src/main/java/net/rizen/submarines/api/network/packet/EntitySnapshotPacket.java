@@ -0,0 +1,116 @@
+package net.rizen.submarines.api.network.packet;
+
+import net.rizen.submarines.Mod;
+import net.minecraft.network.RegistryByteBuf;
+import net.minecraft.network.codec.PacketCodec;
+import net.minecraft.network.packet.CustomPayload;
+import net.minecraft.util.Identifier;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Sends a player the movement of the submarines and torpedoes around them. Positions are offsets from a block
+ * origin near the player, either in fine steps for close entities or coarse steps for distant ones, and come with
+ * the per-tick velocity so the client can extrapolate between snapshots.
+ */
+public record EntitySnapshotPacket(
+        int originX,
+        int originY,
+        int originZ,
+        List<Snapshot> snapshots
+) implements CustomPayload {
+
+    /**
+     * Position step in blocks for snapshots without {@link #FLAG_COARSE}.
+     */
+    public static final double FINE_STEP = 1.0 / 32.0;
+
+    /**
+     * Position step in blocks for snapshots with {@link #FLAG_COARSE}.
+     */
+    public static final double COARSE_STEP = 1.0 / 4.0;
+
+    /**
+     * Velocity step in blocks per tick.
+     */
+    public static final double VELOCITY_STEP = 1.0 / 2048.0;
+
+    public static final int FLAG_COARSE = 1;
+
+    public static final CustomPayload.Id<EntitySnapshotPacket> ID =
+            new CustomPayload.Id<>(Identifier.of(Mod.MOD_ID, "entity_snapshot"));
+
+    public static final PacketCodec<RegistryByteBuf, EntitySnapshotPacket> CODEC =
+            new PacketCodec<RegistryByteBuf, EntitySnapshotPacket>() {
+                @Override
+                public EntitySnapshotPacket decode(RegistryByteBuf buf) {
+                    int originX = buf.readVarInt();
+                    int originY = buf.readVarInt();
+                    int originZ = buf.readVarInt();
+
+                    int count = buf.readVarInt();
+                    List<Snapshot> snapshots = new ArrayList<>(count);
+                    for (int i = 0; i < count; i++) {
+                        snapshots.add(new Snapshot(
+                                buf.readVarInt(),
+                                buf.readByte(),
+                                buf.readShort(),
+                                buf.readShort(),
+                                buf.readShort(),
+                                buf.readShort(),
+                                buf.readShort(),
+                                buf.readShort(),
+                                buf.readShort()
+                        ));
+                    }
+                    return new EntitySnapshotPacket(originX, originY, originZ, snapshots);
+                }
+
+                @Override
+                public void encode(RegistryByteBuf buf, EntitySnapshotPacket packet) {
+                    buf.writeVarInt(packet.originX);
+                    buf.writeVarInt(packet.originY);
+                    buf.writeVarInt(packet.originZ);
+
+                    buf.writeVarInt(packet.snapshots.size());
+                    for (Snapshot snapshot : packet.snapshots) {
+                        buf.writeVarInt(snapshot.entityId);
+                        buf.writeByte(snapshot.flags);
+                        buf.writeShort(snapshot.x);
+                        buf.writeShort(snapshot.y);
+                        buf.writeShort(snapshot.z);
+                        buf.writeShort(snapshot.velocityX);
+                        buf.writeShort(snapshot.velocityY);
+                        buf.writeShort(snapshot.velocityZ);
+                        buf.writeShort(snapshot.yaw);
+                    }
+                }
+            };
+
+    @Override
+    public Id<? extends CustomPayload> getId() {
+        return ID;
+    }
+
+    /**
+     * One entity's movement.
+     *
+     * @param entityId the entity id
+     * @param flags {@link #FLAG_COARSE} if the position is in coarse steps
+     * @param x X offset from the origin
+     * @param y Y offset from the origin
+     * @param z Z offset from the origin
+     * @param velocityX X movement per tick in {@link #VELOCITY_STEP} steps
+     * @param velocityY Y movement per tick in {@link #VELOCITY_STEP} steps
+     * @param velocityZ Z movement per tick in {@link #VELOCITY_STEP} steps
+     * @param yaw heading in 1/65536 turns
+     */
+    public record Snapshot(int entityId, byte flags, short x, short y, short z,
+                           short velocityX, short velocityY, short velocityZ, short yaw) {
+        /**
+         * Encoded size of a snapshot without its entity id.
+         */
+        public static final int FIXED_SIZE = 15;
+    }
+}
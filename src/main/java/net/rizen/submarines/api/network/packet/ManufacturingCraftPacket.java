@@ -8,9 +8,12 @@ import net.minecraft.util.Identifier;
 import net.minecraft.util.math.BlockPos;
 
 /**
- * Requests crafting a recipe at a Manufacturing Table.
+ * Requests crafting a recipe at a Manufacturing Table, up to {@code quantity} times. The server crafts as many as
+ * the player's ingredients allow, never more than {@link #MAX_QUANTITY}.
  */
-public record ManufacturingCraftPacket(Identifier recipeId, BlockPos tablePos) implements CustomPayload {
+public record ManufacturingCraftPacket(Identifier recipeId, BlockPos tablePos, int quantity) implements CustomPayload {
+
+    public static final int MAX_QUANTITY = 64;
 
     public static final CustomPayload.Id<ManufacturingCraftPacket> ID =
             new CustomPayload.Id<>(Identifier.of(Mod.MOD_ID, "manufacturing_craft"));
@@ -21,13 +24,15 @@ public record ManufacturingCraftPacket(Identifier recipeId, BlockPos tablePos) i
                 public ManufacturingCraftPacket decode(RegistryByteBuf buf) {
                     Identifier recipeId = buf.readIdentifier();
                     BlockPos tablePos = buf.readBlockPos();
-                    return new ManufacturingCraftPacket(recipeId, tablePos);
+                    int quantity = buf.readVarInt();
+                    return new ManufacturingCraftPacket(recipeId, tablePos, quantity);
                 }
 
                 @Override
                 public void encode(RegistryByteBuf buf, ManufacturingCraftPacket packet) {
                     buf.writeIdentifier(packet.recipeId);
                     buf.writeBlockPos(packet.tablePos);
+                    buf.writeVarInt(packet.quantity);
                 }
             };
 
@@ -0,0 +1,57 @@
+package net.rizen.submarines.api.network.packet;
+
+import net.rizen.submarines.Mod;
+import net.minecraft.network.RegistryByteBuf;
+import net.minecraft.network.codec.PacketCodec;
+import net.minecraft.network.packet.CustomPayload;
+import net.minecraft.util.Identifier;
+
+/**
+ * Sends everything the pilot did in one client tick: the pressed movement keys, packed into one byte using the bits
+ * in {@link net.rizen.submarines.api.submarine.SubmarineControls}, and one flag per discrete action such as firing
+ * a torpedo. A 16-bit sequence number that wraps around lets the server ignore inputs that arrive out of order.
+ * The client only sends this when its inputs change, when an action was taken, or as a slow refresh while keys are
+ * held.
+ */
+public record SubmarineActionPacket(
+        int entityId,
+        int inputs,
+        int sequence,
+        int actions
+) implements CustomPayload {
+
+    public static final int FIRE_TORPEDO = 1;
+    public static final int SONAR_PING = 1 << 1;
+    public static final int CYCLE_MOVEMENT_MODE = 1 << 2;
+    public static final int CYCLE_TARGETING_MODE = 1 << 3;
+    public static final int DISMOUNT = 1 << 4;
+
+    public static final CustomPayload.Id<SubmarineActionPacket> ID =
+            new CustomPayload.Id<>(Identifier.of(Mod.MOD_ID, "submarine_action"));
+
+    public static final PacketCodec<RegistryByteBuf, SubmarineActionPacket> CODEC =
+            new PacketCodec<RegistryByteBuf, SubmarineActionPacket>() {
+                @Override
+                public SubmarineActionPacket decode(RegistryByteBuf buf) {
+                    return new SubmarineActionPacket(
+                            buf.readVarInt(),
+                            buf.readUnsignedByte(),
+                            buf.readUnsignedShort(),
+                            buf.readUnsignedByte()
+                    );
+                }
+
+                @Override
+                public void encode(RegistryByteBuf buf, SubmarineActionPacket packet) {
+                    buf.writeVarInt(packet.entityId);
+                    buf.writeByte(packet.inputs);
+                    buf.writeShort(packet.sequence);
+                    buf.writeByte(packet.actions);
+                }
+            };
+
+    @Override
+    public Id<? extends CustomPayload> getId() {
+        return ID;
+    }
+}
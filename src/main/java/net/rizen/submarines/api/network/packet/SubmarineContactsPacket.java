@@ -0,0 +1,90 @@
+package net.rizen.submarines.api.network.packet;
+
+import net.rizen.submarines.Mod;
+import net.minecraft.network.RegistryByteBuf;
+import net.minecraft.network.codec.PacketCodec;
+import net.minecraft.network.packet.CustomPayload;
+import net.minecraft.util.Identifier;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Sends a pilot the rough positions of submarines that are too far away to be tracked as entities but close enough
+ * to matter for sonar. Positions are sent relative to a block origin near the pilot in half-block steps, and
+ * headings in 1/256 turns, so each contact costs about ten bytes.
+ */
+public record SubmarineContactsPacket(
+        int originX,
+        int originY,
+        int originZ,
+        List<Contact> contacts
+) implements CustomPayload {
+
+    /**
+     * Size of one position step in blocks.
+     */
+    public static final double POSITION_STEP = 0.5;
+
+    public static final CustomPayload.Id<SubmarineContactsPacket> ID =
+            new CustomPayload.Id<>(Identifier.of(Mod.MOD_ID, "submarine_contacts"));
+
+    public static final PacketCodec<RegistryByteBuf, SubmarineContactsPacket> CODEC =
+            new PacketCodec<RegistryByteBuf, SubmarineContactsPacket>() {
+                @Override
+                public SubmarineContactsPacket decode(RegistryByteBuf buf) {
+                    int originX = buf.readVarInt();
+                    int originY = buf.readVarInt();
+                    int originZ = buf.readVarInt();
+
+                    int count = buf.readVarInt();
+                    List<Contact> contacts = new ArrayList<>(count);
+                    for (int i = 0; i < count; i++) {
+                        contacts.add(new Contact(
+                                buf.readVarInt(),
+                                buf.readShort(),
+                                buf.readShort(),
+                                buf.readShort(),
+                                buf.readByte(),
+                                buf.readByte()
+                        ));
+                    }
+                    return new SubmarineContactsPacket(originX, originY, originZ, contacts);
+                }
+
+                @Override
+                public void encode(RegistryByteBuf buf, SubmarineContactsPacket packet) {
+                    buf.writeVarInt(packet.originX);
+                    buf.writeVarInt(packet.originY);
+                    buf.writeVarInt(packet.originZ);
+
+                    buf.writeVarInt(packet.contacts.size());
+                    for (Contact contact : packet.contacts) {
+                        buf.writeVarInt(contact.entityId);
+                        buf.writeShort(contact.offsetX);
+                        buf.writeShort(contact.offsetY);
+                        buf.writeShort(contact.offsetZ);
+                        buf.writeByte(contact.yaw);
+                        buf.writeByte(contact.state);
+                    }
+                }
+            };
+
+    @Override
+    public Id<? extends CustomPayload> getId() {
+        return ID;
+    }
+
+    /**
+     * One distant submarine.
+     *
+     * @param entityId the submarine's entity id
+     * @param offsetX X offset from the origin in {@link #POSITION_STEP} steps
+     * @param offsetY Y offset from the origin in {@link #POSITION_STEP} steps
+     * @param offsetZ Z offset from the origin in {@link #POSITION_STEP} steps
+     * @param yaw heading in 1/256 turns
+     * @param state movement mode ordinal in the low two bits, and bit 2 set while it is moving
+     */
+    public record Contact(int entityId, short offsetX, short offsetY, short offsetZ, byte yaw, byte state) {
+    }
+}
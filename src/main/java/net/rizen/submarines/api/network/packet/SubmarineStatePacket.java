@@ -0,0 +1,67 @@
+package net.rizen.submarines.api.network.packet;
+
+import net.rizen.submarines.Mod;
+import net.minecraft.network.RegistryByteBuf;
+import net.minecraft.network.codec.PacketCodec;
+import net.minecraft.network.packet.CustomPayload;
+import net.minecraft.util.Identifier;
+
+/**
+ * Sends the pilot the server's movement state for their submarine, along with the newest input sequence the
+ * server has applied and how many ticks it has simulated with that input. The client uses this to correct its
+ * own prediction and replay the inputs the server has not seen yet.
+ */
+public record SubmarineStatePacket(
+        int entityId,
+        int ackSequence,
+        int ticksSinceAck,
+        double x,
+        double y,
+        double z,
+        float yaw,
+        float forwardSpeed,
+        float verticalSpeed,
+        float rotationSpeed
+) implements CustomPayload {
+
+    public static final CustomPayload.Id<SubmarineStatePacket> ID =
+            new CustomPayload.Id<>(Identifier.of(Mod.MOD_ID, "submarine_state"));
+
+    public static final PacketCodec<RegistryByteBuf, SubmarineStatePacket> CODEC =
+            new PacketCodec<RegistryByteBuf, SubmarineStatePacket>() {
+                @Override
+                public SubmarineStatePacket decode(RegistryByteBuf buf) {
+                    return new SubmarineStatePacket(
+                            buf.readVarInt(),
+                            buf.readUnsignedShort(),
+                            buf.readVarInt(),
+                            buf.readDouble(),
+                            buf.readDouble(),
+                            buf.readDouble(),
+                            buf.readFloat(),
+                            buf.readFloat(),
+                            buf.readFloat(),
+                            buf.readFloat()
+                    );
+                }
+
+                @Override
+                public void encode(RegistryByteBuf buf, SubmarineStatePacket packet) {
+                    buf.writeVarInt(packet.entityId);
+                    buf.writeShort(packet.ackSequence);
+                    buf.writeVarInt(packet.ticksSinceAck);
+                    buf.writeDouble(packet.x);
+                    buf.writeDouble(packet.y);
+                    buf.writeDouble(packet.z);
+                    buf.writeFloat(packet.yaw);
+                    buf.writeFloat(packet.forwardSpeed);
+                    buf.writeFloat(packet.verticalSpeed);
+                    buf.writeFloat(packet.rotationSpeed);
+                }
+            };
+
+    @Override
+    public Id<? extends CustomPayload> getId() {
+        return ID;
+    }
+}
@@ -0,0 +1,51 @@
+package net.rizen.submarines.api.network.packet;
+
+import net.rizen.submarines.Mod;
+import net.minecraft.network.RegistryByteBuf;
+import net.minecraft.network.codec.PacketCodec;
+import net.minecraft.network.packet.CustomPayload;
+import net.minecraft.util.Identifier;
+
+/**
+ * Sends HUD-only submarine state from server to client. Only the pilot receives this, and only when a value
+ * changed, so other players tracking the submarine never pay for power and ammo updates they cannot see.
+ */
+public record SubmarineTelemetryPacket(
+        int entityId,
+        float power,
+        int torpedoArmingTimer,
+        int torpedoCount,
+        float speed
+) implements CustomPayload {
+
+    public static final CustomPayload.Id<SubmarineTelemetryPacket> ID =
+            new CustomPayload.Id<>(Identifier.of(Mod.MOD_ID, "submarine_telemetry"));
+
+    public static final PacketCodec<RegistryByteBuf, SubmarineTelemetryPacket> CODEC =
+            new PacketCodec<RegistryByteBuf, SubmarineTelemetryPacket>() {
+                @Override
+                public SubmarineTelemetryPacket decode(RegistryByteBuf buf) {
+                    return new SubmarineTelemetryPacket(
+                            buf.readVarInt(),
+                            buf.readFloat(),
+                            buf.readVarInt(),
+                            buf.readVarInt(),
+                            buf.readFloat()
+                    );
+                }
+
+                @Override
+                public void encode(RegistryByteBuf buf, SubmarineTelemetryPacket packet) {
+                    buf.writeVarInt(packet.entityId);
+                    buf.writeFloat(packet.power);
+                    buf.writeVarInt(packet.torpedoArmingTimer);
+                    buf.writeVarInt(packet.torpedoCount);
+                    buf.writeFloat(packet.speed);
+                }
+            };
+
+    @Override
+    public Id<? extends CustomPayload> getId() {
+        return ID;
+    }
+}
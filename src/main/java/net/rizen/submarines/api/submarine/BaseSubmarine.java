@@ -1,7 +1,16 @@
 package net.rizen.submarines.api.submarine;
 
 import net.minecraft.text.Text;
+import net.fabricmc.fabric.api.networking.v1.ServerPlayNetworking;
+import net.rizen.submarines.api.network.packet.SubmarineActionPacket;
+import net.rizen.submarines.api.network.packet.SubmarineStatePacket;
+import net.rizen.submarines.api.network.packet.SubmarineTelemetryPacket;
 import net.rizen.submarines.api.submarine.sonar.SonarSystem;
+import net.rizen.submarines.config.SubmarinesConfig;
+import net.rizen.submarines.world.ChunkPreloader;
+import net.rizen.submarines.world.ContactProxyBroadcaster;
+import net.rizen.submarines.world.SoundBroadcaster;
+import net.rizen.submarines.world.SubmarineWorldData;
 import net.rizen.submarines.api.torpedo.TargetingMode;
 import net.minecraft.entity.Entity;
 import net.minecraft.entity.EntityType;
@@ -10,12 +19,15 @@ import net.minecraft.entity.data.TrackedData;
 import net.minecraft.entity.data.TrackedDataHandlerRegistry;
 import net.minecraft.entity.player.PlayerEntity;
 import net.minecraft.entity.player.PlayerInventory;
+import net.minecraft.server.network.ServerPlayerEntity;
+import net.minecraft.server.world.ServerWorld;
 import net.minecraft.nbt.NbtCompound;
 import net.minecraft.screen.NamedScreenHandlerFactory;
 import net.minecraft.screen.ScreenHandler;
 import net.minecraft.util.ActionResult;
 import net.minecraft.util.Hand;
 import net.minecraft.util.math.Box;
+import net.minecraft.util.math.MathHelper;
 import net.minecraft.util.math.Vec3d;
 import net.minecraft.world.World;
 
@@ -31,12 +43,25 @@ import net.minecraft.world.World;
 public abstract class BaseSubmarine extends Entity implements NamedScreenHandlerFactory {
     protected static final TrackedData<Float> HEALTH = DataTracker.registerData(BaseSubmarine.class, TrackedDataHandlerRegistry.FLOAT);
     protected static final TrackedData<Float> SPEED = DataTracker.registerData(BaseSubmarine.class, TrackedDataHandlerRegistry.FLOAT);
-    protected static final TrackedData<Integer> TORPEDO_COUNT = DataTracker.registerData(BaseSubmarine.class, TrackedDataHandlerRegistry.INTEGER);
-    protected static final TrackedData<Integer> TORPEDO_ARMING_TIMER = DataTracker.registerData(BaseSubmarine.class, TrackedDataHandlerRegistry.INTEGER);
-    protected static final TrackedData<Float> POWER = DataTracker.registerData(BaseSubmarine.class, TrackedDataHandlerRegistry.FLOAT);
     protected static final TrackedData<Integer> MOVEMENT_MODE = DataTracker.registerData(BaseSubmarine.class, TrackedDataHandlerRegistry.INTEGER);
     protected static final TrackedData<Integer> TARGETING_MODE = DataTracker.registerData(BaseSubmarine.class, TrackedDataHandlerRegistry.INTEGER);
 
+    /**
+     * Speed is rounded to this step before it goes into the tracker, so small changes do not cause an update
+     * for every tracking player. The pilot gets the exact value through telemetry.
+     */
+    private static final float TRACKED_SPEED_STEP = 0.01f;
+
+    /**
+     * Share of the remaining prediction error corrected each client tick. Errors larger than
+     * {@link #MAX_SMOOTHED_ERROR} blocks are corrected at once, and what is left below {@link #MIN_CORRECTION} is
+     * snapped, so the submarine always ends up exactly where the server has it.
+     */
+    private static final float CORRECTION_RATE = 0.3f;
+    private static final double MAX_SMOOTHED_ERROR = 4.0;
+    private static final double MIN_CORRECTION = 0.01;
+    private static final float MIN_YAW_CORRECTION = 0.1f;
+
     protected final SubmarineControls controls;
     protected final SubmarineMovement movement;
     protected final SubmarinePhysics physics;
@@ -44,6 +69,17 @@ public abstract class BaseSubmarine extends Entity implements NamedScreenHandler
     protected final SubmarineWeaponSystem weaponSystem;
     protected final SubmarineInventory inventory;
     protected final SonarSystem sonarSystem;
+    protected final SubmarineSurfaceInteraction surfaceInteraction;
+    protected final SubmarineTelemetry telemetry;
+    protected final SubmarineDormancy dormancy;
+    protected final SubmarineEnvironment environment;
+    protected final SubmarineHull hull;
+    protected final ChunkPreloader chunkPreloader;
+    protected final ContactProxyBroadcaster contactBroadcaster;
+    protected final SubmarinePrediction prediction;
+    protected final SubmarineExtrapolation extrapolation;
+    protected final SubmarineMailbox mailbox;
+    protected final SubmarinePositionHistory positionHistory;
 
     protected float width;
     protected float height;
@@ -53,8 +89,13 @@ public abstract class BaseSubmarine extends Entity implements NamedScreenHandler
     private final float torpedoFireCost;
     private final Vec3d torpedoSpawnOffset;
 
-    private boolean wasMoving = false;
     private boolean wasLowPower = false;
+    private Entity telemetryPilot = null;
+    private boolean stateSentMoving = false;
+    private double correctionX;
+    private double correctionY;
+    private double correctionZ;
+    private float correctionYaw;
 
     /**
      * Creates a new submarine with all stats and components. Sets up movement physics, power system,
@@ -96,7 +137,19 @@ public abstract class BaseSubmarine extends Entity implements NamedScreenHandler
         this.power = new SubmarinePower(maxPower, movementConsumption);
         this.weaponSystem = new SubmarineWeaponSystem(torpedoCooldown, torpedoArming);
         this.inventory = new SubmarineInventory();
-        this.sonarSystem = new SonarSystem();
+        this.sonarSystem = new SonarSystem(TickClock.of(world));
+        this.surfaceInteraction = new SubmarineSurfaceInteraction();
+        this.telemetry = new SubmarineTelemetry();
+        this.dormancy = new SubmarineDormancy();
+        this.environment = new SubmarineEnvironment();
+        this.hull = new SubmarineHull();
+        this.chunkPreloader = new ChunkPreloader();
+        this.contactBroadcaster = new ContactProxyBroadcaster();
+        this.prediction = new SubmarinePrediction();
+        this.extrapolation = new SubmarineExtrapolation();
+        this.mailbox = new SubmarineMailbox();
+        this.positionHistory = new SubmarinePositionHistory();
+        this.inventory.setChangeListener(this::wakeUp);
         this.torpedoSpawner = torpedoSpawner;
         this.torpedoFireCost = torpedoFireCost;
         this.torpedoSpawnOffset = torpedoSpawnOffset;
@@ -109,9 +162,6 @@ public abstract class BaseSubmarine extends Entity implements NamedScreenHandler
     protected void initDataTracker(DataTracker.Builder builder) {
         builder.add(HEALTH, 100.0f);
         builder.add(SPEED, 0.0f);
-        builder.add(TORPEDO_COUNT, 0);
-        builder.add(TORPEDO_ARMING_TIMER, 0);
-        builder.add(POWER, 100.0f);
         builder.add(MOVEMENT_MODE, MovementMode.SILENT.ordinal());
         builder.add(TARGETING_MODE, TargetingMode.ALL.ordinal());
     }
@@ -121,15 +171,62 @@ public abstract class BaseSubmarine extends Entity implements NamedScreenHandler
         return net.minecraft.entity.EntityDimensions.changing(width, height);
     }
 
+    /**
+     * The bounding box is the smallest axis-aligned box around the turned hull, so it follows the real shape of
+     * the submarine instead of a square as wide as its length.
+     */
     @Override
     protected Box calculateBoundingBox() {
-        float maxDimension = Math.max(width, length);
-        float halfSize = maxDimension / 2.0f;
+        return getHullBox().getEnclosingBox();
+    }
+
+    @Override
+    public void setYaw(float yaw) {
+        super.setYaw(yaw);
+        this.setBoundingBox(this.calculateBoundingBox());
+    }
+
+    /**
+     * Gets the hull at the current position and heading.
+     *
+     * @return the hull box
+     */
+    public OrientedBox getHullBox() {
+        return getHullBox(this.getX(), this.getY(), this.getZ(), this.getYaw());
+    }
 
-        return new Box(
-                this.getX() - halfSize, this.getY(), this.getZ() - halfSize,
-                this.getX() + halfSize, this.getY() + height, this.getZ() + halfSize
-        );
+    /**
+     * Gets the hull as it would be at another position or heading.
+     *
+     * @param x X of the bottom center
+     * @param y Y of the bottom
+     * @param z Z of the bottom center
+     * @param yaw heading in degrees
+     * @return the hull box
+     */
+    public OrientedBox getHullBox(double x, double y, double z, float yaw) {
+        return OrientedBox.of(x, y, z, width, height, length, yaw);
+    }
+
+    /**
+     * Gets the hull as it was on an earlier tick, for checking torpedo hits against what a lagging pilot saw.
+     * Server side only.
+     *
+     * @param tick the world time
+     * @return the hull box at that tick, or the current one if that tick is no longer remembered
+     */
+    public OrientedBox getHullBoxAt(long tick) {
+        OrientedBox box = positionHistory.getHullBox(this, tick);
+        return box != null ? box : getHullBox();
+    }
+
+    /**
+     * Checks whether the hull is free of terrain and other submarines at the current position.
+     *
+     * @return true if nothing overlaps the hull
+     */
+    public boolean isHullClear() {
+        return hull.isClear(this);
     }
 
     @Override
@@ -141,72 +238,344 @@ public abstract class BaseSubmarine extends Entity implements NamedScreenHandler
     public void tick() {
         super.tick();
 
+        if (!this.getWorld().isClient && dormancy.isDormant()) {
+            return;
+        }
+
+        environment.update(this);
+
         if (!this.getWorld().isClient) {
-            if (power.hasPower() && this.isInWaterBlock()) {
-                float currentMaxSpeed = getMovementMode().getMaxSpeed();
-                movement.update(controls, this, currentMaxSpeed);
-            } else {
-                movement.stop();
-                this.dataTracker.set(SPEED, 0f);
+            if (this.getFirstPassenger() instanceof PlayerEntity) {
+                mailbox.drain(this);
             }
-
-            updatePosition();
+            controls.checkTimeout(this.getWorld().getTime());
+            stepMovement();
+            controls.onMovementTick();
+            positionHistory.record(this.getWorld().getTime(), this);
+            updateChunkPreloading();
 
             float powerMultiplier = getMovementMode().getPowerMultiplier();
             power.consumePower(controls.isMoving(), powerMultiplier);
-            power.tryConsumeFuel(inventory);
+            boolean burnedFuel = power.tryConsumeFuel(inventory);
             weaponSystem.tick();
             weaponSystem.updateTorpedoCount(inventory);
             sonarSystem.tick();
 
-            this.dataTracker.set(TORPEDO_COUNT, weaponSystem.countTorpedoes(inventory));
-            this.dataTracker.set(TORPEDO_ARMING_TIMER, weaponSystem.getTorpedoArmingTimer());
-            this.dataTracker.set(POWER, power.getCurrentPower());
-            this.dataTracker.set(SPEED, movement.getSignedSpeed());
+            updateTrackedSpeed(movement.getSignedSpeed());
+            sendPilotTelemetry();
+            sendPilotState();
+            sendContactProxies();
 
-            breakLilyPads();
+            surfaceInteraction.tick(this.getWorld(), this);
             handleLowPowerWarning();
+
+            if (dormancy.recordTick(isIdle(burnedFuel))) {
+                enterDormancy();
+            }
+        } else if (isLocallyPiloted()) {
+            controls.setInputs(prediction.record());
+            stepMovement();
+            applyCorrection();
+            extrapolation.reset();
+        } else {
+            prediction.clear();
+            clearCorrection();
+            extrapolation.tick(this);
+        }
+    }
+
+    /**
+     * Runs one tick of movement from the current controls. The server runs this for every submarine, and the
+     * pilot's client runs it for their own submarine to predict where it goes before the server answers.
+     */
+    private void stepMovement() {
+        updateSpeed();
+        updatePosition();
+    }
+
+    /**
+     * Runs one tick of movement again while replaying inputs in {@link #reconcile}. Only speed and position change:
+     * the hull still clips the move, but collision flags and the block collision pass are left alone, since those
+     * ticks already happened.
+     */
+    private void replayMovement() {
+        updateSpeed();
+        moveHull(calculateWantedMovement());
+    }
+
+    private void updateSpeed() {
+        if (power.hasPower() && this.isInWaterBlock()) {
+            float currentMaxSpeed = getMovementMode().getMaxSpeed();
+            float previousYaw = this.getYaw();
+            movement.update(controls, this, currentMaxSpeed);
+            if (this.getYaw() != previousYaw && !hull.canRotate(this, previousYaw, this.getYaw())) {
+                this.setYaw(previousYaw);
+                movement.setCurrentRotationSpeed(0f);
+            }
+        } else {
+            movement.stop();
+        }
+    }
+
+    /**
+     * Checks whether nothing happened to this submarine this tick: no passenger, no speed, no movement,
+     * and no fuel burned.
+     */
+    private boolean isIdle(boolean burnedFuel) {
+        return !burnedFuel
+                && !this.hasPassengers()
+                && movement.getCurrentForwardSpeed() == 0
+                && movement.getCurrentVerticalSpeed() == 0
+                && movement.getCurrentRotationSpeed() == 0
+                && this.getX() == this.prevX
+                && this.getY() == this.prevY
+                && this.getZ() == this.prevZ;
+    }
+
+    private void enterDormancy() {
+        dormancy.enterDormancy(this.getWorld().getTime());
+        SubmarineWorldData.get(this.getWorld()).getDormantSubmarines().add(this);
+    }
+
+    /**
+     * Brings a dormant submarine back to normal ticking and catches up the timers that would have
+     * run while it was asleep. Does nothing if the submarine is not dormant.
+     */
+    public void wakeUp() {
+        if (this.getWorld().isClient || !dormancy.isDormant()) {
+            return;
+        }
+
+        long ticksAsleep = dormancy.wake(this.getWorld().getTime());
+        SubmarineWorldData.get(this.getWorld()).getDormantSubmarines().remove(this);
+        weaponSystem.catchUp(ticksAsleep);
+        environment.invalidate();
+    }
+
+    public boolean isDormant() {
+        return dormancy.isDormant();
+    }
+
+    @Override
+    public void setRemoved(RemovalReason reason) {
+        super.setRemoved(reason);
+        if (this.getWorld() instanceof ServerWorld world) {
+            chunkPreloader.releaseAll(world);
+            if (dormancy.isDormant()) {
+                SubmarineWorldData.get(world).getDormantSubmarines().remove(this);
+            }
+        }
+    }
+
+    private void updateChunkPreloading() {
+        ServerWorld world = (ServerWorld) this.getWorld();
+        if (this.getFirstPassenger() instanceof PlayerEntity) {
+            chunkPreloader.tick(world, this, movement.getSignedSpeed());
+        } else {
+            chunkPreloader.releaseAll(world);
+        }
+    }
+
+    private void updateTrackedSpeed(float speed) {
+        float quantized = Math.round(speed / TRACKED_SPEED_STEP) * TRACKED_SPEED_STEP;
+        if (Math.abs(quantized - this.dataTracker.get(SPEED)) >= TRACKED_SPEED_STEP / 2) {
+            this.dataTracker.set(SPEED, quantized);
+        }
+    }
+
+    /**
+     * Sends HUD telemetry to the pilot every few ticks, but only when something changed. A new pilot always
+     * gets a fresh copy right away.
+     */
+    private void sendPilotTelemetry() {
+        if (!(this.getFirstPassenger() instanceof ServerPlayerEntity pilot)) {
+            telemetryPilot = null;
+            return;
+        }
+
+        if (pilot != telemetryPilot) {
+            telemetryPilot = pilot;
+            telemetry.invalidate();
+        }
+
+        if (telemetry.isValid() && this.age % SubmarinesConfig.telemetryIntervalTicks != 0) {
+            return;
+        }
+
+        float currentPower = power.getCurrentPower();
+        int armingTimer = weaponSystem.getTorpedoArmingTimer();
+        int torpedoCount = inventory.getTorpedoCount();
+        float speed = movement.getSignedSpeed();
+
+        if (telemetry.update(currentPower, armingTimer, torpedoCount, speed)) {
+            ServerPlayNetworking.send(pilot, new SubmarineTelemetryPacket(this.getId(), currentPower, armingTimer, torpedoCount, speed));
+        }
+    }
+
+    /**
+     * Sends the pilot the authoritative movement state with the last input applied, every tick while the
+     * submarine moves and once more when it stops. Nothing is sent before the pilot's first input arrives.
+     */
+    private void sendPilotState() {
+        if (!(this.getFirstPassenger() instanceof ServerPlayerEntity pilot) || !controls.hasSequence()) {
+            stateSentMoving = false;
+            return;
+        }
+
+        boolean moving = this.getX() != this.prevX || this.getY() != this.prevY || this.getZ() != this.prevZ
+                || this.getYaw() != this.prevYaw || movement.getCurrentForwardSpeed() != 0
+                || movement.getCurrentVerticalSpeed() != 0 || movement.getCurrentRotationSpeed() != 0;
+        if (!moving && !stateSentMoving && controls.getTicksSinceInput() > 1) {
+            return;
+        }
+        stateSentMoving = moving;
+
+        ServerPlayNetworking.send(pilot, new SubmarineStatePacket(this.getId(),
+                controls.getLastSequence(), controls.getTicksSinceInput(),
+                this.getX(), this.getY(), this.getZ(), this.getYaw(),
+                movement.getCurrentForwardSpeed(), movement.getCurrentVerticalSpeed(), movement.getCurrentRotationSpeed()));
+    }
+
+    /**
+     * Corrects the predicted movement with the server's state. The server state is taken as it is, the inputs
+     * it has not seen yet are replayed on top, and the difference from the prediction is worked off over the next
+     * ticks by {@link #applyCorrection} so small corrections do not show as a jump. The server stops sending once
+     * the submarine stops, so the correction keeps going on its own until it is used up. Client side only.
+     *
+     * @param state the state sent by the server
+     */
+    public void reconcile(SubmarineStatePacket state) {
+        if (!isLocallyPiloted()) {
+            return;
         }
 
-        handleMotorSound();
+        Vec3d predictedPos = this.getPos();
+        float predictedYaw = this.getYaw();
+
+        this.setPosition(state.x(), state.y(), state.z());
+        this.setYaw(state.yaw());
+        movement.setCurrentForwardSpeed(state.forwardSpeed());
+        movement.setCurrentVerticalSpeed(state.verticalSpeed());
+        movement.setCurrentRotationSpeed(state.rotationSpeed());
+
+        if (prediction.acknowledge(state.ackSequence(), state.ticksSinceAck())) {
+            int heldInputs = controls.getInputs();
+            for (int i = 0; i < prediction.size(); i++) {
+                controls.setInputs(prediction.getInputs(i));
+                replayMovement();
+            }
+            controls.setInputs(heldInputs);
+        }
+
+        Vec3d error = this.getPos().subtract(predictedPos);
+        if (error.lengthSquared() < MAX_SMOOTHED_ERROR * MAX_SMOOTHED_ERROR) {
+            correctionX = error.x;
+            correctionY = error.y;
+            correctionZ = error.z;
+            correctionYaw = MathHelper.wrapDegrees(this.getYaw() - predictedYaw);
+            this.setPosition(predictedPos);
+            this.setYaw(predictedYaw);
+            applyCorrection();
+        } else {
+            clearCorrection();
+        }
     }
 
-    private void handleMotorSound() {
-        boolean isMoving = controls.isMoving() && power.hasPower() && this.isInWaterBlock();
+    /**
+     * Moves the submarine a share of the way through the correction left from {@link #reconcile}, or the rest of
+     * the way once it is small.
+     */
+    private void applyCorrection() {
+        if (correctionX == 0 && correctionY == 0 && correctionZ == 0 && correctionYaw == 0) {
+            return;
+        }
 
-        if (isMoving && !wasMoving) {
-            float volume = getMotorVolume();
-            float pitch = getMotorPitch();
-            this.getWorld().playSound(null, this.getX(), this.getY(), this.getZ(),
-                    net.rizen.submarines.Mod.SUBMARINE_MOTOR,
-                    net.minecraft.sound.SoundCategory.NEUTRAL, volume, pitch);
+        double lengthSquared = correctionX * correctionX + correctionY * correctionY + correctionZ * correctionZ;
+        float rate = lengthSquared < MIN_CORRECTION * MIN_CORRECTION && Math.abs(correctionYaw) < MIN_YAW_CORRECTION
+                ? 1.0f : CORRECTION_RATE;
+
+        double dx = correctionX * rate;
+        double dy = correctionY * rate;
+        double dz = correctionZ * rate;
+        float dyaw = correctionYaw * rate;
+        this.setPosition(this.getX() + dx, this.getY() + dy, this.getZ() + dz);
+        this.setYaw(this.getYaw() + dyaw);
+
+        if (rate == 1.0f) {
+            clearCorrection();
+        } else {
+            correctionX -= dx;
+            correctionY -= dy;
+            correctionZ -= dz;
+            correctionYaw -= dyaw;
         }
+    }
 
-        if (isMoving && this.age % 20 == 0) {
-            float volume = getMotorVolume();
-            float pitch = getMotorPitch();
-            this.getWorld().playSound(null, this.getX(), this.getY(), this.getZ(),
-                    net.rizen.submarines.Mod.SUBMARINE_MOTOR,
-                    net.minecraft.sound.SoundCategory.NEUTRAL, volume, pitch);
+    private void clearCorrection() {
+        correctionX = 0;
+        correctionY = 0;
+        correctionZ = 0;
+        correctionYaw = 0;
+    }
+
+    /**
+     * Checks whether the local player is piloting this submarine. Always false on the server.
+     */
+    public boolean isLocallyPiloted() {
+        return this.getWorld().isClient && this.getFirstPassenger() instanceof PlayerEntity player && player.isMainPlayer();
+    }
+
+    public SubmarinePrediction getPrediction() {
+        return prediction;
+    }
+
+    /**
+     * Applies a movement snapshot from the server. Ignored for the submarine the local player is piloting.
+     * Client side only.
+     *
+     * @param position the position at the time of the snapshot
+     * @param velocity movement per tick
+     * @param yaw the heading
+     */
+    public void applySnapshot(Vec3d position, Vec3d velocity, float yaw) {
+        if (!isLocallyPiloted()) {
+            extrapolation.receive(position, velocity, yaw);
         }
+    }
 
-        wasMoving = isMoving;
+    @Override
+    public void updateTrackedPositionAndAngles(double x, double y, double z, float yaw, float pitch, int interpolationSteps) {
+        // The pilot's own submarine is positioned by prediction and corrected through reconcile
+        if (isLocallyPiloted()) {
+            return;
+        }
+        // Vanilla tracking only runs about once a second, so treat it like one more snapshot
+        if (extrapolation.isActive()) {
+            extrapolation.receive(new Vec3d(x, y, z), extrapolation.getVelocity(), yaw);
+            return;
+        }
+        super.updateTrackedPositionAndAngles(x, y, z, yaw, pitch, interpolationSteps);
     }
 
-    private float getMotorVolume() {
-        return switch (getMovementMode()) {
-            case SILENT -> 0.3f;
-            case CRUISE -> 0.6f;
-            case FLANK -> 1.0f;
-        };
+    private void sendContactProxies() {
+        if (this.getFirstPassenger() instanceof ServerPlayerEntity pilot) {
+            contactBroadcaster.tick(this, pilot);
+        } else {
+            contactBroadcaster.reset();
+        }
     }
 
-    private float getMotorPitch() {
-        return switch (getMovementMode()) {
-            case SILENT -> 0.8f;
-            case CRUISE -> 1.0f;
-            case FLANK -> 1.2f;
-        };
+    /**
+     * Applies telemetry received from the server. Client side only.
+     *
+     * @param power current power
+     * @param torpedoArmingTimer ticks until torpedoes are armed
+     * @param torpedoCount torpedoes in the inventory
+     * @param speed unrounded signed speed in blocks per tick
+     */
+    public void applyTelemetry(float power, int torpedoArmingTimer, int torpedoCount, float speed) {
+        this.telemetry.set(power, torpedoArmingTimer, torpedoCount, speed);
+        this.power.setCurrentPower(power);
     }
 
     private void handleLowPowerWarning() {
@@ -215,42 +584,49 @@ public abstract class BaseSubmarine extends Entity implements NamedScreenHandler
         boolean isLowPower = (currentPower / maxPower) < 0.1f;
 
         if (isLowPower && !wasLowPower) {
-            this.getWorld().playSound(null, this.getX(), this.getY(), this.getZ(),
-                    net.rizen.submarines.Mod.SUBMARINE_LOW_POWER,
+            SoundBroadcaster.playToPilot(this, net.rizen.submarines.Mod.SUBMARINE_LOW_POWER,
                     net.minecraft.sound.SoundCategory.NEUTRAL, 2.0f, 1.0f);
         }
 
         wasLowPower = isLowPower;
     }
 
-    private void breakLilyPads() {
-        Box boundingBox = this.getBoundingBox();
-        net.minecraft.util.math.BlockPos minPos = new net.minecraft.util.math.BlockPos(
-            (int) Math.floor(boundingBox.minX),
-            (int) Math.floor(boundingBox.minY),
-            (int) Math.floor(boundingBox.minZ)
-        );
-        net.minecraft.util.math.BlockPos maxPos = new net.minecraft.util.math.BlockPos(
-            (int) Math.ceil(boundingBox.maxX),
-            (int) Math.ceil(boundingBox.maxY),
-            (int) Math.ceil(boundingBox.maxZ)
-        );
-
-        for (net.minecraft.util.math.BlockPos pos : net.minecraft.util.math.BlockPos.iterate(minPos, maxPos)) {
-            net.minecraft.block.BlockState state = this.getWorld().getBlockState(pos);
-            if (state.isOf(net.minecraft.block.Blocks.LILY_PAD)) {
-                this.getWorld().breakBlock(pos, true);
-            }
-        }
+    /**
+     * Moves the submarine by its current speed, clipped against its hull. This stands in for {@link #move}, so it
+     * also sets the collision flags from the clipped axes and runs the block collision pass that lets bubble
+     * columns, portals and pressure plates act on the submarine.
+     */
+    protected void updatePosition() {
+        Vec3d wanted = calculateWantedMovement();
+        Vec3d resolved = moveHull(wanted);
+
+        this.horizontalCollision = !MathHelper.approximatelyEquals(wanted.x, resolved.x)
+                || !MathHelper.approximatelyEquals(wanted.z, resolved.z);
+        this.verticalCollision = wanted.y != resolved.y;
+        this.groundCollision = this.verticalCollision && wanted.y < 0.0;
+        this.setOnGround(this.groundCollision, resolved);
+        this.tryCheckBlockCollision();
+        this.setPitch(0);
     }
 
-    protected void updatePosition() {
-        Vec3d movement = this.movement.calculateMovement(this.getYaw());
-        movement = physics.applyWaterPhysics(this, movement);
-        movement = physics.constrainToWaterSurface(this.getWorld(), this, movement);
+    private Vec3d calculateWantedMovement() {
+        Vec3d wanted = this.movement.calculateMovement(this.getYaw());
+        wanted = physics.applyWaterPhysics(environment, wanted);
+        return physics.constrainToWaterSurface(environment, this, wanted);
+    }
 
-        this.move(net.minecraft.entity.MovementType.SELF, movement);
-        this.setPitch(0);
+    /**
+     * Applies as much of a move as the hull allows.
+     *
+     * @param wanted the wanted move
+     * @return the move that was made
+     */
+    private Vec3d moveHull(Vec3d wanted) {
+        Vec3d resolved = hull.resolveMovement(this, wanted);
+        if (resolved.lengthSquared() > 0) {
+            this.setPosition(this.getPos().add(resolved));
+        }
+        return resolved;
     }
 
     /**
@@ -272,6 +648,60 @@ public abstract class BaseSubmarine extends Entity implements NamedScreenHandler
         controls.updateInput(forward, backward, left, right, up, down);
     }
 
+    /**
+     * Applies an input packet from the pilot. Packets older than the last one applied are ignored. Controls are
+     * reset when the submarine is out of power or not in water.
+     *
+     * @param sequence the packet's 16-bit sequence number
+     * @param packedInputs the pressed inputs as a {@link SubmarineControls} bitmask
+     */
+    public void applyInput(int sequence, int packedInputs) {
+        if (!controls.acceptInput(sequence, packedInputs, this.getWorld().getTime())) {
+            return;
+        }
+        if (!power.hasPower() || !this.isInWaterBlock()) {
+            controls.reset();
+        }
+    }
+
+    public SubmarineControls getControls() {
+        return controls;
+    }
+
+    /**
+     * Gets the mailbox the packet receiver posts pilot input and actions to. They are applied at the start of the
+     * next server tick.
+     */
+    public SubmarineMailbox getMailbox() {
+        return mailbox;
+    }
+
+    /**
+     * Runs the discrete actions from a {@link SubmarineActionPacket}: mode toggles first, then the sonar ping, the
+     * torpedo, and dismounting last.
+     *
+     * @param sender the passenger who sent them
+     * @param actions the action flags
+     */
+    public void performActions(PlayerEntity sender, int actions) {
+        if ((actions & SubmarineActionPacket.CYCLE_MOVEMENT_MODE) != 0) {
+            cycleMovementMode();
+        }
+        if ((actions & SubmarineActionPacket.CYCLE_TARGETING_MODE) != 0) {
+            cycleTargetingMode();
+        }
+        if ((actions & SubmarineActionPacket.SONAR_PING) != 0) {
+            performSonarPing();
+        }
+        if ((actions & SubmarineActionPacket.FIRE_TORPEDO) != 0) {
+            fireTorpedo();
+        }
+        if ((actions & SubmarineActionPacket.DISMOUNT) != 0) {
+            sender.setSneaking(false);
+            sender.stopRiding();
+        }
+    }
+
     protected boolean canFireTorpedo() {
         if (!this.isInWaterBlock()) {
             return false;
@@ -311,13 +741,15 @@ public abstract class BaseSubmarine extends Entity implements NamedScreenHandler
                 torpedo.setOwnerSubmarine(this);
                 torpedo.setTargetingMode(this.getTargetingMode());
                 this.getWorld().spawnEntity(torpedo);
+                if (this.getFirstPassenger() instanceof ServerPlayerEntity pilot) {
+                    torpedo.compensateLag(pilot.networkHandler.getLatency());
+                }
 
                 weaponSystem.setFired();
                 weaponSystem.updateTorpedoCount(inventory);
 
-                this.getWorld().playSound(null, this.getX(), this.getY(), this.getZ(),
-                    net.rizen.submarines.Mod.TORPEDO_FIRE,
-                    net.minecraft.sound.SoundCategory.NEUTRAL, 1.0f, 1.0f);
+                SoundBroadcaster.play(this, net.rizen.submarines.Mod.TORPEDO_FIRE,
+                    net.minecraft.sound.SoundCategory.NEUTRAL, 1.0f, 1.0f, null);
 
                 return true;
             } else {
@@ -334,13 +766,13 @@ public abstract class BaseSubmarine extends Entity implements NamedScreenHandler
     }
 
     private void playUnableToFireSound() {
-        this.getWorld().playSound(null, this.getX(), this.getY(), this.getZ(),
-            net.rizen.submarines.Mod.TORPEDO_UNABLE_TO_FIRE,
+        SoundBroadcaster.playToPilot(this, net.rizen.submarines.Mod.TORPEDO_UNABLE_TO_FIRE,
             net.minecraft.sound.SoundCategory.NEUTRAL, 1.0f, 1.0f);
     }
 
     @Override
     public ActionResult interact(PlayerEntity player, Hand hand) {
+        wakeUp();
         net.minecraft.item.ItemStack stack = player.getStackInHand(hand);
 
         if (stack.getItem() instanceof net.rizen.submarines.item.SubmarineRepairToolItem) {
@@ -356,15 +788,13 @@ public abstract class BaseSubmarine extends Entity implements NamedScreenHandler
 
                 stack.damage(20, player, player.getSlotForHand(hand));
 
-                this.getWorld().playSound(
-                    null,
-                    this.getX(),
-                    this.getY(),
-                    this.getZ(),
+                SoundBroadcaster.play(
+                    this,
                     net.rizen.submarines.Mod.SUBMARINE_REPAIRED,
                     net.minecraft.sound.SoundCategory.PLAYERS,
                     1.0f,
-                    1.0f
+                    1.0f,
+                    player instanceof ServerPlayerEntity serverPlayer ? serverPlayer : null
                 );
             }
 
@@ -387,7 +817,9 @@ public abstract class BaseSubmarine extends Entity implements NamedScreenHandler
 
     @Override
     protected void addPassenger(Entity passenger) {
+        wakeUp();
         super.addPassenger(passenger);
+        controls.resetSequence();
         if (passenger instanceof PlayerEntity player) {
             player.setInvulnerable(true);
         }
@@ -399,6 +831,8 @@ public abstract class BaseSubmarine extends Entity implements NamedScreenHandler
         if (passenger instanceof PlayerEntity player) {
             player.setInvulnerable(false);
             controls.reset();
+            controls.resetSequence();
+            mailbox.clear();
         }
     }
 
@@ -414,12 +848,28 @@ public abstract class BaseSubmarine extends Entity implements NamedScreenHandler
         return this.dataTracker.get(SPEED);
     }
 
+    /**
+     * Gets the unrounded speed. On the client this is only known by the pilot, everyone else gets
+     * the rounded value from {@link #getSpeed()}.
+     *
+     * @return signed speed in blocks per tick
+     */
+    public float getPreciseSpeed() {
+        if (this.getWorld().isClient) {
+            return telemetry.isValid() ? telemetry.getSpeed() : getSpeed();
+        }
+        return movement.getSignedSpeed();
+    }
+
     public int getDepth() {
-        return physics.calculateDepth(this.getWorld(), this);
+        return environment.getDepth();
     }
 
     public int getTorpedoCount() {
-        return this.dataTracker.get(TORPEDO_COUNT);
+        if (this.getWorld().isClient) {
+            return telemetry.getTorpedoCount();
+        }
+        return inventory.getTorpedoCount();
     }
 
     public int getTorpedoCooldown() {
@@ -427,23 +877,45 @@ public abstract class BaseSubmarine extends Entity implements NamedScreenHandler
     }
 
     public int getTorpedoArmingTimer() {
-        return this.dataTracker.get(TORPEDO_ARMING_TIMER);
+        if (this.getWorld().isClient) {
+            return telemetry.getTorpedoArmingTimer();
+        }
+        return weaponSystem.getTorpedoArmingTimer();
     }
 
     public boolean isTorpedoArmed() {
-        return weaponSystem.isArmed() && getTorpedoCount() > 0;
+        return getTorpedoArmingTimer() == 0 && getTorpedoCount() > 0;
     }
 
     public float getPower() {
-        return this.dataTracker.get(POWER);
+        return power.getCurrentPower();
     }
 
     public boolean hasPower() {
         return power.hasPower();
     }
 
+    /**
+     * Charges the batteries for time spent connected to shore power, for example while stored in a dock.
+     *
+     * @param ticks how long the submarine was connected
+     * @param powerPerTick power gained per tick
+     */
+    public void chargeFromShore(long ticks, float powerPerTick) {
+        power.setCurrentPower(power.getCurrentPower() + ticks * powerPerTick);
+    }
+
     public boolean isInWaterBlock() {
-        return physics.isInWater(this);
+        return environment.isInWater();
+    }
+
+    /**
+     * Gets the snapshot of the water around this submarine, taken at the start of the current tick.
+     *
+     * @return the environment snapshot
+     */
+    public SubmarineEnvironment getEnvironment() {
+        return environment;
     }
 
     public SubmarineInventory getInventory() {
@@ -453,7 +925,7 @@ public abstract class BaseSubmarine extends Entity implements NamedScreenHandler
     @Override
     protected void readCustomDataFromNbt(NbtCompound nbt) {
         this.dataTracker.set(HEALTH, nbt.getFloat("Health"));
-        this.dataTracker.set(POWER, nbt.getFloat("Power"));
+        this.power.setCurrentPower(nbt.getFloat("Power"));
         this.movement.setCurrentForwardSpeed(nbt.getFloat("ForwardSpeed"));
         this.movement.setCurrentVerticalSpeed(nbt.getFloat("VerticalSpeed"));
         this.movement.setCurrentRotationSpeed(nbt.getFloat("RotationSpeed"));
@@ -496,6 +968,8 @@ public abstract class BaseSubmarine extends Entity implements NamedScreenHandler
             return false;
         }
 
+        wakeUp();
+
         if (!source.isOf(net.minecraft.entity.damage.DamageTypes.EXPLOSION) &&
                 !source.isOf(net.minecraft.entity.damage.DamageTypes.PLAYER_EXPLOSION)) {
             return false;
@@ -567,9 +1041,7 @@ public abstract class BaseSubmarine extends Entity implements NamedScreenHandler
         sonarSystem.performPing(this.getWorld(), this.getPos(), this.getYaw(), this);
 
         if (!this.getWorld().isClient) {
-            this.getWorld().playSound(null, this.getX(), this.getY(), this.getZ(),
-                    net.rizen.submarines.Mod.SONAR_PING,
-                    net.minecraft.sound.SoundCategory.NEUTRAL, 1.0f, 1.0f);
+            SoundBroadcaster.playSonarPing(this, net.rizen.submarines.Mod.SONAR_PING);
         }
     }
 
@@ -0,0 +1,35 @@
+package net.rizen.submarines.api.submarine;
+
+/**
+ * A clock that only moves when told to. Useful for benchmarks and replays that drive submarine systems without a
+ * running world.
+ */
+public class ManualTickClock implements TickClock {
+    private long tick;
+
+    public ManualTickClock() {
+        this(0);
+    }
+
+    public ManualTickClock(long startTick) {
+        this.tick = startTick;
+    }
+
+    @Override
+    public long getTick() {
+        return tick;
+    }
+
+    /**
+     * Moves the clock forward.
+     *
+     * @param ticks how many ticks to advance
+     */
+    public void advance(long ticks) {
+        this.tick += ticks;
+    }
+
+    public void setTick(long tick) {
+        this.tick = tick;
+    }
+}
@@ -0,0 +1,199 @@
+package net.rizen.submarines.api.submarine;
+
+import net.minecraft.util.math.Box;
+import net.minecraft.util.math.Vec3d;
+
+/**
+ * A box that is rotated around the Y axis, used for submarine hulls. The length runs along the facing direction
+ * and the width runs across it, so a long, narrow hull keeps its real shape when it turns instead of growing into
+ * a square.
+ *
+ * <p>Overlap tests use the separating axis test. Because the box only rotates around Y, the test splits into a
+ * plain height check and a 2D test on the horizontal plane with at most four axes.</p>
+ */
+public final class OrientedBox {
+    /**
+     * Boxes that only touch are not counted as overlapping.
+     */
+    private static final double EPSILON = 1.0E-7;
+
+    private final double centerX;
+    private final double centerZ;
+    private final double minY;
+    private final double maxY;
+    private final double halfWidth;
+    private final double halfLength;
+    private final double forwardX;
+    private final double forwardZ;
+    private final double extentX;
+    private final double extentZ;
+
+    private OrientedBox(double centerX, double centerZ, double minY, double maxY,
+                        double halfWidth, double halfLength, double forwardX, double forwardZ) {
+        this.centerX = centerX;
+        this.centerZ = centerZ;
+        this.minY = minY;
+        this.maxY = maxY;
+        this.halfWidth = halfWidth;
+        this.halfLength = halfLength;
+        this.forwardX = forwardX;
+        this.forwardZ = forwardZ;
+        this.extentX = Math.abs(forwardX) * halfLength + Math.abs(forwardZ) * halfWidth;
+        this.extentZ = Math.abs(forwardZ) * halfLength + Math.abs(forwardX) * halfWidth;
+    }
+
+    /**
+     * Creates a hull box standing on a position.
+     *
+     * @param x X of the bottom center
+     * @param y Y of the bottom
+     * @param z Z of the bottom center
+     * @param width size across the facing direction
+     * @param height size along Y
+     * @param length size along the facing direction
+     * @param yaw facing in degrees, using Minecraft's yaw convention
+     * @return the box
+     */
+    public static OrientedBox of(double x, double y, double z, float width, float height, float length, float yaw) {
+        double yawRad = Math.toRadians(yaw);
+        return new OrientedBox(x, z, y, y + height, width / 2.0, length / 2.0, -Math.sin(yawRad), Math.cos(yawRad));
+    }
+
+    public OrientedBox offset(double dx, double dy, double dz) {
+        return new OrientedBox(centerX + dx, centerZ + dz, minY + dy, maxY + dy,
+                halfWidth, halfLength, forwardX, forwardZ);
+    }
+
+    /**
+     * Gets the smallest axis-aligned box that holds this box. Used for entity bounding boxes and as a cheap
+     * first check before the exact test.
+     *
+     * @return the enclosing box
+     */
+    public Box getEnclosingBox() {
+        return new Box(centerX - extentX, minY, centerZ - extentZ, centerX + extentX, maxY, centerZ + extentZ);
+    }
+
+    /**
+     * Checks whether this box overlaps an axis-aligned box.
+     *
+     * @param box the axis-aligned box
+     * @return true if they overlap
+     */
+    public boolean intersects(Box box) {
+        return intersects(box.minX, box.minY, box.minZ, box.maxX, box.maxY, box.maxZ);
+    }
+
+    /**
+     * Checks whether this box overlaps an axis-aligned box given by its corners.
+     *
+     * @return true if they overlap
+     */
+    public boolean intersects(double minX, double minY, double minZ, double maxX, double maxY, double maxZ) {
+        if (!overlapsY(minY, maxY)) {
+            return false;
+        }
+
+        double otherHalfX = (maxX - minX) / 2.0;
+        double otherHalfZ = (maxZ - minZ) / 2.0;
+        double dx = (minX + maxX) / 2.0 - centerX;
+        double dz = (minZ + maxZ) / 2.0 - centerZ;
+
+        if (Math.abs(dx) >= extentX + otherHalfX - EPSILON || Math.abs(dz) >= extentZ + otherHalfZ - EPSILON) {
+            return false;
+        }
+
+        double alongForward = Math.abs(dx * forwardX + dz * forwardZ);
+        double forwardRadius = otherHalfX * Math.abs(forwardX) + otherHalfZ * Math.abs(forwardZ);
+        if (alongForward >= halfLength + forwardRadius - EPSILON) {
+            return false;
+        }
+
+        double alongRight = Math.abs(dx * forwardZ - dz * forwardX);
+        double rightRadius = otherHalfX * Math.abs(forwardZ) + otherHalfZ * Math.abs(forwardX);
+        return alongRight < halfWidth + rightRadius - EPSILON;
+    }
+
+    /**
+     * Checks whether this box overlaps another oriented box.
+     *
+     * @param other the other box
+     * @return true if they overlap
+     */
+    public boolean intersects(OrientedBox other) {
+        if (!overlapsY(other.minY, other.maxY)) {
+            return false;
+        }
+
+        double dx = other.centerX - centerX;
+        double dz = other.centerZ - centerZ;
+
+        return !separatedOn(other, dx, dz, forwardX, forwardZ)
+                && !separatedOn(other, dx, dz, forwardZ, -forwardX)
+                && !separatedOn(other, dx, dz, other.forwardX, other.forwardZ)
+                && !separatedOn(other, dx, dz, other.forwardZ, -other.forwardX);
+    }
+
+    /**
+     * Checks whether a line segment passes through this box. Used for fast projectiles that could skip over a thin
+     * hull in one tick.
+     *
+     * @param from start of the segment
+     * @param to end of the segment
+     * @return true if any part of the segment is inside the box
+     */
+    public boolean intersectsSegment(Vec3d from, Vec3d to) {
+        double startX = from.x - centerX;
+        double startZ = from.z - centerZ;
+        double moveX = to.x - from.x;
+        double moveZ = to.z - from.z;
+
+        double[] range = {0.0, 1.0};
+        return clip(startX * forwardX + startZ * forwardZ, moveX * forwardX + moveZ * forwardZ, -halfLength, halfLength, range)
+                && clip(startX * forwardZ - startZ * forwardX, moveX * forwardZ - moveZ * forwardX, -halfWidth, halfWidth, range)
+                && clip(from.y, to.y - from.y, minY, maxY, range);
+    }
+
+    public double getMinY() {
+        return minY;
+    }
+
+    public double getMaxY() {
+        return maxY;
+    }
+
+    private boolean overlapsY(double otherMinY, double otherMaxY) {
+        return otherMinY < maxY - EPSILON && otherMaxY > minY + EPSILON;
+    }
+
+    private boolean separatedOn(OrientedBox other, double dx, double dz, double axisX, double axisZ) {
+        double distance = Math.abs(dx * axisX + dz * axisZ);
+        return distance >= radiusOn(axisX, axisZ) + other.radiusOn(axisX, axisZ) - EPSILON;
+    }
+
+    private double radiusOn(double axisX, double axisZ) {
+        return halfLength * Math.abs(forwardX * axisX + forwardZ * axisZ)
+                + halfWidth * Math.abs(forwardZ * axisX - forwardX * axisZ);
+    }
+
+    /**
+     * Narrows the [enter, exit] range of a segment to the part inside one slab. Returns false if nothing is left.
+     */
+    private static boolean clip(double start, double delta, double min, double max, double[] range) {
+        if (Math.abs(delta) < EPSILON) {
+            return start >= min && start <= max;
+        }
+
+        double t0 = (min - start) / delta;
+        double t1 = (max - start) / delta;
+        if (t0 > t1) {
+            double swap = t0;
+            t0 = t1;
+            t1 = swap;
+        }
+
+        range[0] = Math.max(range[0], t0);
+        range[1] = Math.min(range[1], t1);
+        return range[0] <= range[1];
+    }
+}
@@ -4,58 +4,164 @@ package net.rizen.submarines.api.submarine;
  * Tracks which controls are currently being pressed by the player. This stores the state of all movement inputs
  * like forward, backward, turning, and vertical movement. The submarine movement system reads these flags to
  * determine how to move each tick.
+ *
+ * <p>The inputs are kept as a bitmask, which is also how the client sends them. Each input packet carries a 16-bit
+ * sequence number that wraps around. Packets older than the newest one seen are dropped, and gaps are counted as
+ * lost inputs. The client only sends when its inputs change, plus a slow refresh while keys are held, so held
+ * inputs are released if nothing arrives for {@link #INPUT_TIMEOUT_TICKS}.</p>
  */
 public class SubmarineControls {
-    private boolean moveForward = false;
-    private boolean moveBackward = false;
-    private boolean rotateLeft = false;
-    private boolean rotateRight = false;
-    private boolean moveUp = false;
-    private boolean moveDown = false;
+    public static final int FORWARD = 1;
+    public static final int BACKWARD = 1 << 1;
+    public static final int LEFT = 1 << 2;
+    public static final int RIGHT = 1 << 3;
+    public static final int UP = 1 << 4;
+    public static final int DOWN = 1 << 5;
+
+    /**
+     * Held inputs are released after this many ticks without an input packet.
+     */
+    public static final long INPUT_TIMEOUT_TICKS = 100;
+
+    private int inputs = 0;
+    private boolean hasSequence = false;
+    private int lastSequence;
+    private long lastInputTick;
+    private int ticksSinceInput;
+    private long lostInputs = 0;
 
     public void updateInput(boolean forward, boolean backward, boolean left, boolean right, boolean up, boolean down) {
-        this.moveForward = forward;
-        this.moveBackward = backward;
-        this.rotateLeft = left;
-        this.rotateRight = right;
-        this.moveUp = up;
-        this.moveDown = down;
+        this.inputs = pack(forward, backward, left, right, up, down);
+    }
+
+    /**
+     * Applies an input packet if it is newer than the last one applied.
+     *
+     * @param sequence the packet's 16-bit sequence number
+     * @param packedInputs the input bitmask
+     * @param currentTick the current world time
+     * @return true if the packet was applied, false if it was stale or a duplicate
+     */
+    public boolean acceptInput(int sequence, int packedInputs, long currentTick) {
+        if (hasSequence) {
+            int delta = (short) (sequence - lastSequence);
+            if (delta <= 0) {
+                return false;
+            }
+            lostInputs += delta - 1;
+        }
+
+        hasSequence = true;
+        lastSequence = sequence;
+        lastInputTick = currentTick;
+        ticksSinceInput = 0;
+        this.inputs = packedInputs & (FORWARD | BACKWARD | LEFT | RIGHT | UP | DOWN);
+        return true;
+    }
+
+    /**
+     * Releases held inputs if the pilot has gone quiet for too long.
+     *
+     * @param currentTick the current world time
+     */
+    public void checkTimeout(long currentTick) {
+        if (inputs != 0 && hasSequence && currentTick - lastInputTick > INPUT_TIMEOUT_TICKS) {
+            inputs = 0;
+        }
+    }
+
+    /**
+     * Counts one movement tick simulated with the current input, for the state sent back to the pilot.
+     */
+    public void onMovementTick() {
+        ticksSinceInput++;
+    }
+
+    /**
+     * Forgets the sequence number, so the first packet from the next pilot is accepted whatever its number.
+     */
+    public void resetSequence() {
+        hasSequence = false;
     }
 
     public void reset() {
-        this.moveForward = false;
-        this.moveBackward = false;
-        this.rotateLeft = false;
-        this.rotateRight = false;
-        this.moveUp = false;
-        this.moveDown = false;
+        this.inputs = 0;
+    }
+
+    /**
+     * Sets the inputs directly. Used by client prediction, which does not go through sequence checks.
+     *
+     * @param packedInputs the input bitmask
+     */
+    public void setInputs(int packedInputs) {
+        this.inputs = packedInputs & (FORWARD | BACKWARD | LEFT | RIGHT | UP | DOWN);
+    }
+
+    public static int pack(boolean forward, boolean backward, boolean left, boolean right, boolean up, boolean down) {
+        return (forward ? FORWARD : 0)
+                | (backward ? BACKWARD : 0)
+                | (left ? LEFT : 0)
+                | (right ? RIGHT : 0)
+                | (up ? UP : 0)
+                | (down ? DOWN : 0);
+    }
+
+    public int getInputs() {
+        return inputs;
+    }
+
+    public boolean hasSequence() {
+        return hasSequence;
+    }
+
+    public int getLastSequence() {
+        return lastSequence;
+    }
+
+    /**
+     * Gets how many movement ticks have been simulated since the last input packet was applied.
+     *
+     * @return the tick count
+     */
+    public int getTicksSinceInput() {
+        return ticksSinceInput;
+    }
+
+    /**
+     * Gets how many input packets were skipped over since this submarine was loaded, going by gaps in the
+     * sequence numbers.
+     *
+     * @return the number of lost inputs
+     */
+    public long getLostInputs() {
+        return lostInputs;
     }
 
     public boolean isMoving() {
-        return moveForward || moveBackward || rotateLeft || rotateRight || moveUp || moveDown;
+        return inputs != 0;
     }
 
     public boolean isMoveForward() {
-        return moveForward;
+        return (inputs & FORWARD) != 0;
     }
 
     public boolean isMoveBackward() {
-        return moveBackward;
+        return (inputs & BACKWARD) != 0;
     }
 
     public boolean isRotateLeft() {
-        return rotateLeft;
+        return (inputs & LEFT) != 0;
     }
 
     public boolean isRotateRight() {
-        return rotateRight;
+        return (inputs & RIGHT) != 0;
     }
 
     public boolean isMoveUp() {
-        return moveUp;
+        return (inputs & UP) != 0;
     }
 
     public boolean isMoveDown() {
-        return moveDown;
+        return (inputs & DOWN) != 0;
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,56 @@
+package net.rizen.submarines.api.submarine;
+
+/**
+ * Tracks whether a submarine is dormant. A submarine with no passenger that has been sitting completely still for
+ * a short while goes dormant and skips all of its subsystems until something wakes it up.
+ *
+ * <p>Nothing that matters changes while dormant: no power is used, no fuel is burned, and the submarine does not
+ * move. The only things that run on are the weapon timers, which are caught up in one step on wake-up using the
+ * number of ticks spent asleep.</p>
+ */
+public class SubmarineDormancy {
+    /**
+     * How many idle ticks in a row it takes to go dormant.
+     */
+    public static final int IDLE_TICKS_BEFORE_DORMANT = 40;
+
+    private int idleTicks = 0;
+    private boolean dormant = false;
+    private long dormantSinceTick = 0;
+
+    /**
+     * Records whether the submarine was idle this tick.
+     *
+     * @param idle true if nothing happened this tick
+     * @return true if the submarine has been idle long enough to go dormant
+     */
+    public boolean recordTick(boolean idle) {
+        if (!idle) {
+            idleTicks = 0;
+            return false;
+        }
+        return ++idleTicks >= IDLE_TICKS_BEFORE_DORMANT;
+    }
+
+    public void enterDormancy(long currentTick) {
+        this.dormant = true;
+        this.dormantSinceTick = currentTick;
+        this.idleTicks = 0;
+    }
+
+    /**
+     * Leaves the dormant state.
+     *
+     * @param currentTick the current game tick
+     * @return how many ticks were spent dormant
+     */
+    public long wake(long currentTick) {
+        this.dormant = false;
+        this.idleTicks = 0;
+        return Math.max(0, currentTick - dormantSinceTick);
+    }
+
+    public boolean isDormant() {
+        return dormant;
+    }
+}
@@ -0,0 +1,157 @@
+package net.rizen.submarines.api.submarine;
+
+import net.minecraft.entity.Entity;
+import net.minecraft.registry.tag.FluidTags;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.math.Box;
+import net.minecraft.util.math.MathHelper;
+import net.minecraft.world.World;
+import net.rizen.submarines.world.SubmarineWorldData;
+import net.rizen.submarines.world.WaterSurfaceCache;
+
+/**
+ * Snapshot of the water around a submarine, taken once at the start of every tick. All submarine systems read
+ * from this instead of asking the world again, and addons can read it through {@link BaseSubmarine#getEnvironment()}.
+ *
+ * <p>The water surface comes from the world's {@link WaterSurfaceCache}, so it is a cheap lookup every tick.
+ * Only for water far below the top of the column, like a flooded cave, is the column scanned upward. Those scans
+ * and the seabed scan are only repeated when the hull enters a new block or every {@link #RESCAN_INTERVAL} ticks.</p>
+ */
+public class SubmarineEnvironment {
+    /**
+     * How far up and down the water column is scanned.
+     */
+    public static final int MAX_SCAN_DISTANCE = 64;
+    private static final int RESCAN_INTERVAL = 20;
+    private static final int NOT_SCANNED = Integer.MIN_VALUE;
+
+    private boolean inWater = false;
+    private double surfaceY;
+    private double waterAbove;
+    private double seabedDistance;
+    private float fluidCoverage;
+    private int depth;
+
+    private boolean scanValid = false;
+    private long lastScanKey;
+    private int ticksSinceScan;
+    private int scannedSurfaceY;
+    private int seabedBlockY;
+
+    private final BlockPos.Mutable scanPos = new BlockPos.Mutable();
+
+    void update(Entity entity) {
+        World world = entity.getWorld();
+        Box box = entity.getBoundingBox();
+
+        inWater = entity.isSubmergedIn(FluidTags.WATER) || entity.isTouchingWater();
+        fluidCoverage = entity.getHeight() > 0
+                ? (float) MathHelper.clamp(entity.getFluidHeight(FluidTags.WATER) / entity.getHeight(), 0.0, 1.0)
+                : 0.0f;
+
+        int blockX = MathHelper.floor(entity.getX());
+        int bottomY = MathHelper.floor(box.minY);
+        int blockZ = MathHelper.floor(entity.getZ());
+        long scanKey = BlockPos.asLong(blockX, bottomY, blockZ);
+
+        if (!scanValid || scanKey != lastScanKey || ++ticksSinceScan >= RESCAN_INTERVAL) {
+            seabedBlockY = scanSeabed(world, blockX, bottomY, blockZ);
+            scannedSurfaceY = NOT_SCANNED;
+            lastScanKey = scanKey;
+            ticksSinceScan = 0;
+            scanValid = true;
+        }
+
+        int cachedSurfaceY = SubmarineWorldData.get(world).getWaterSurfaceCache().getSurfaceY(world, blockX, blockZ);
+        if (cachedSurfaceY != WaterSurfaceCache.NO_WATER && cachedSurfaceY >= bottomY) {
+            surfaceY = cachedSurfaceY;
+        } else {
+            // The cache only knows the topmost water in the column, so scan for water below that
+            if (scannedSurfaceY == NOT_SCANNED) {
+                scannedSurfaceY = scanSurface(world, blockX, bottomY, blockZ);
+            }
+            surfaceY = scannedSurfaceY;
+        }
+        waterAbove = Math.max(0.0, surfaceY - box.maxY);
+        seabedDistance = Math.max(0.0, box.minY - (seabedBlockY + 1));
+        depth = Math.max(0, (int) (surfaceY - entity.getY()));
+    }
+
+    /**
+     * Forces the next update to rescan the water column, for when the surroundings may have changed.
+     */
+    public void invalidate() {
+        scanValid = false;
+    }
+
+    /**
+     * Finds the Y of the first non-water block above the hull bottom, which is the height of the water surface.
+     * When the column is deeper than the scan range, sea level is used as a best guess.
+     */
+    private int scanSurface(World world, int x, int startY, int z) {
+        int topY = Math.min(world.getTopY(), startY + MAX_SCAN_DISTANCE);
+        for (int y = startY; y < topY; y++) {
+            scanPos.set(x, y, z);
+            if (!world.getFluidState(scanPos).isIn(FluidTags.WATER)) {
+                return y;
+            }
+        }
+        return Math.max(topY, world.getSeaLevel());
+    }
+
+    /**
+     * Finds the Y of the first non-water block below the hull bottom.
+     */
+    private int scanSeabed(World world, int x, int startY, int z) {
+        int bottomY = Math.max(world.getBottomY(), startY - MAX_SCAN_DISTANCE);
+        for (int y = startY - 1; y >= bottomY; y--) {
+            scanPos.set(x, y, z);
+            if (!world.getFluidState(scanPos).isIn(FluidTags.WATER)) {
+                return y;
+            }
+        }
+        return bottomY - 1;
+    }
+
+    /**
+     * @return true if the hull is touching or submerged in water
+     */
+    public boolean isInWater() {
+        return inWater;
+    }
+
+    /**
+     * @return the Y coordinate of the water surface above the hull
+     */
+    public double getSurfaceY() {
+        return surfaceY;
+    }
+
+    /**
+     * @return blocks of water between the top of the hull and the surface, 0 when surfaced
+     */
+    public double getWaterAbove() {
+        return waterAbove;
+    }
+
+    /**
+     * @return blocks of water between the bottom of the hull and the seabed, up to {@link #MAX_SCAN_DISTANCE}
+     */
+    public double getSeabedDistance() {
+        return seabedDistance;
+    }
+
+    /**
+     * @return how much of the hull height is under water, from 0 to 1
+     */
+    public float getFluidCoverage() {
+        return fluidCoverage;
+    }
+
+    /**
+     * @return depth of the submarine below the water surface in whole blocks
+     */
+    public int getDepth() {
+        return depth;
+    }
+}
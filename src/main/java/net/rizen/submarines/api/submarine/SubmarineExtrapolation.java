@@ -0,0 +1,76 @@
+package net.rizen.submarines.api.submarine;
+
+import net.minecraft.entity.Entity;
+import net.minecraft.util.math.MathHelper;
+import net.minecraft.util.math.Vec3d;
+
+/**
+ * Moves a submarine on the client between movement snapshots. Distant submarines are only sent a few times a
+ * second, so in between the client carries them along at their last known velocity and eases them towards where
+ * the latest snapshot says they should be by now. Not used for the submarine the local player is piloting.
+ */
+public class SubmarineExtrapolation {
+    /**
+     * A submarine is not carried further than this many ticks past its last snapshot.
+     */
+    private static final int MAX_EXTRAPOLATION_TICKS = 20;
+    private static final float CORRECTION_RATE = 0.5f;
+    private static final double SNAP_DISTANCE = 8.0;
+
+    private Vec3d position = Vec3d.ZERO;
+    private Vec3d velocity = Vec3d.ZERO;
+    private float yaw;
+    private int ticksSinceSnapshot;
+    private boolean active = false;
+
+    /**
+     * Takes in a new snapshot.
+     *
+     * @param position the position at the time of the snapshot
+     * @param velocity movement per tick
+     * @param yaw the heading
+     */
+    public void receive(Vec3d position, Vec3d velocity, float yaw) {
+        this.position = position;
+        this.velocity = velocity;
+        this.yaw = yaw;
+        this.ticksSinceSnapshot = 0;
+        this.active = true;
+    }
+
+    /**
+     * Moves the submarine one tick along. Does nothing until the first snapshot arrives.
+     *
+     * @param entity the submarine
+     */
+    public void tick(Entity entity) {
+        if (!active) {
+            return;
+        }
+
+        if (ticksSinceSnapshot < MAX_EXTRAPOLATION_TICKS) {
+            ticksSinceSnapshot++;
+        }
+        Vec3d target = position.add(velocity.multiply(ticksSinceSnapshot));
+        Vec3d next = ticksSinceSnapshot < MAX_EXTRAPOLATION_TICKS ? entity.getPos().add(velocity) : entity.getPos();
+
+        if (next.squaredDistanceTo(target) > SNAP_DISTANCE * SNAP_DISTANCE) {
+            entity.setPosition(target);
+        } else {
+            entity.setPosition(next.lerp(target, CORRECTION_RATE));
+        }
+        entity.setYaw(entity.getYaw() + MathHelper.wrapDegrees(yaw - entity.getYaw()) * CORRECTION_RATE);
+    }
+
+    public boolean isActive() {
+        return active;
+    }
+
+    public Vec3d getVelocity() {
+        return velocity;
+    }
+
+    public void reset() {
+        active = false;
+    }
+}
@@ -0,0 +1,179 @@
+package net.rizen.submarines.api.submarine;
+
+import it.unimi.dsi.fastutil.longs.LongArrayList;
+import it.unimi.dsi.fastutil.objects.ReferenceArrayList;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.math.Box;
+import net.minecraft.util.math.MathHelper;
+import net.minecraft.util.math.Vec3d;
+import net.minecraft.world.World;
+import net.rizen.submarines.world.SolidMaskCache;
+import net.rizen.submarines.world.SubmarineWorldData;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.List;
+
+/**
+ * Moves and turns a submarine against terrain and other submarines using its {@link OrientedBox} hull, replacing
+ * vanilla entity movement which only knows about square boxes.
+ *
+ * <p>Each move first gathers everything the hull could touch: the solid blocks in the box swept by the whole move,
+ * read from the world's {@link SolidMaskCache}, and the other submarines whose bounding boxes reach into it. In open
+ * water that list is empty and the move is applied as is. Otherwise the move is applied one axis at a time, vertical
+ * first, and each axis is cut back to the largest fraction that keeps the hull clear of everything gathered.</p>
+ *
+ * <p>Blocks and submarines the hull already overlaps before moving are left out, so a hull that ends up inside
+ * something, for example after a block was placed into it, can still move out.</p>
+ */
+public class SubmarineHull {
+    /**
+     * Halving steps used to find how far a blocked axis can still move. Four steps get within 1/16 of the move.
+     */
+    private static final int RESOLVE_STEPS = 4;
+
+    private final LongArrayList solidBlocks = new LongArrayList();
+    private final ReferenceArrayList<OrientedBox> otherHulls = new ReferenceArrayList<>();
+
+    /**
+     * Works out how much of a move the hull can make.
+     *
+     * @param submarine the submarine being moved
+     * @param motion the wanted move
+     * @return the move that can be made without the hull hitting anything
+     */
+    public Vec3d resolveMovement(BaseSubmarine submarine, Vec3d motion) {
+        if (motion.lengthSquared() == 0) {
+            return motion;
+        }
+
+        OrientedBox box = submarine.getHullBox();
+        gather(submarine, box, box.getEnclosingBox().stretch(motion));
+        if (solidBlocks.isEmpty() && otherHulls.isEmpty()) {
+            return motion;
+        }
+
+        double dy = resolveAxis(box, 0, motion.y, 0);
+        box = box.offset(0, dy, 0);
+
+        double dx;
+        double dz;
+        if (Math.abs(motion.x) >= Math.abs(motion.z)) {
+            dx = resolveAxis(box, motion.x, 0, 0);
+            box = box.offset(dx, 0, 0);
+            dz = resolveAxis(box, 0, 0, motion.z);
+        } else {
+            dz = resolveAxis(box, 0, 0, motion.z);
+            box = box.offset(0, 0, dz);
+            dx = resolveAxis(box, motion.x, 0, 0);
+        }
+
+        return new Vec3d(dx, dy, dz);
+    }
+
+    /**
+     * Checks whether the hull can turn from one heading to another where it stands.
+     *
+     * @param submarine the submarine being turned
+     * @param fromYaw the current heading in degrees
+     * @param toYaw the new heading in degrees
+     * @return true if the turned hull does not hit anything it was not already touching
+     */
+    public boolean canRotate(BaseSubmarine submarine, float fromYaw, float toYaw) {
+        OrientedBox current = submarine.getHullBox(submarine.getX(), submarine.getY(), submarine.getZ(), fromYaw);
+        OrientedBox rotated = submarine.getHullBox(submarine.getX(), submarine.getY(), submarine.getZ(), toYaw);
+
+        gather(submarine, current, current.getEnclosingBox().union(rotated.getEnclosingBox()));
+        return !collides(rotated);
+    }
+
+    /**
+     * Checks whether the hull is clear of terrain and other submarines where it stands. Used before putting a
+     * submarine into the world.
+     *
+     * @param submarine the submarine to check
+     * @return true if nothing overlaps the hull
+     */
+    public boolean isClear(BaseSubmarine submarine) {
+        OrientedBox box = submarine.getHullBox();
+        gather(submarine, null, box.getEnclosingBox());
+        return !collides(box);
+    }
+
+    private double resolveAxis(OrientedBox box, double dx, double dy, double dz) {
+        if (dx == 0 && dy == 0 && dz == 0) {
+            return 0;
+        }
+        if (!collides(box.offset(dx, dy, dz))) {
+            return dx + dy + dz;
+        }
+
+        double free = 0.0;
+        double blocked = 1.0;
+        for (int i = 0; i < RESOLVE_STEPS; i++) {
+            double middle = (free + blocked) / 2.0;
+            if (collides(box.offset(dx * middle, dy * middle, dz * middle))) {
+                blocked = middle;
+            } else {
+                free = middle;
+            }
+        }
+        return (dx + dy + dz) * free;
+    }
+
+    private boolean collides(OrientedBox box) {
+        for (int i = 0; i < solidBlocks.size(); i++) {
+            long packed = solidBlocks.getLong(i);
+            int x = BlockPos.unpackLongX(packed);
+            int y = BlockPos.unpackLongY(packed);
+            int z = BlockPos.unpackLongZ(packed);
+            if (box.intersects(x, y, z, x + 1, y + 1, z + 1)) {
+                return true;
+            }
+        }
+
+        for (int i = 0; i < otherHulls.size(); i++) {
+            if (box.intersects(otherHulls.get(i))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Fills the candidate lists with solid blocks and other hulls inside the given area, leaving out anything a
+     * given starting hull already overlaps.
+     */
+    private void gather(BaseSubmarine submarine, @Nullable OrientedBox start, Box area) {
+        solidBlocks.clear();
+        otherHulls.clear();
+
+        World world = submarine.getWorld();
+        SolidMaskCache solidMasks = SubmarineWorldData.get(world).getSolidMaskCache();
+
+        int minX = MathHelper.floor(area.minX);
+        int minY = MathHelper.floor(area.minY);
+        int minZ = MathHelper.floor(area.minZ);
+        int maxX = MathHelper.ceil(area.maxX) - 1;
+        int maxY = MathHelper.ceil(area.maxY) - 1;
+        int maxZ = MathHelper.ceil(area.maxZ) - 1;
+
+        for (int y = minY; y <= maxY; y++) {
+            for (int z = minZ; z <= maxZ; z++) {
+                for (int x = minX; x <= maxX; x++) {
+                    if (solidMasks.isSolid(world, x, y, z)
+                            && (start == null || !start.intersects(x, y, z, x + 1, y + 1, z + 1))) {
+                        solidBlocks.add(BlockPos.asLong(x, y, z));
+                    }
+                }
+            }
+        }
+
+        List<BaseSubmarine> others = world.getEntitiesByClass(BaseSubmarine.class, area, other -> other != submarine);
+        for (BaseSubmarine other : others) {
+            OrientedBox otherBox = other.getHullBox();
+            if (start == null || !start.intersects(otherBox)) {
+                otherHulls.add(otherBox);
+            }
+        }
+    }
+}
@@ -1,5 +1,6 @@
 package net.rizen.submarines.api.submarine;
 
+import it.unimi.dsi.fastutil.objects.Reference2IntOpenHashMap;
 import net.minecraft.entity.player.PlayerEntity;
 import net.minecraft.inventory.Inventories;
 import net.minecraft.inventory.Inventory;
@@ -7,15 +8,33 @@ import net.minecraft.item.ItemStack;
 import net.minecraft.nbt.NbtCompound;
 import net.minecraft.registry.RegistryWrapper;
 import net.minecraft.util.collection.DefaultedList;
+import net.rizen.submarines.api.item.TorpedoItem;
+import net.rizen.submarines.api.submarine.fuel.FuelRegistry;
 
 /**
  * The storage system for submarines. This holds 27 slots for fuel, torpedoes, and other items.
  * The inventory can save and load its contents to NBT so items persist when the world is unloaded or chunks are unloaded.
+ *
+ * <p>The submarine asks about its torpedoes and fuel every tick, so the inventory keeps those totals cached. Any
+ * change to the contents marks the caches dirty and they are rebuilt on the next query, so a tick where nothing
+ * changed does no slot scanning at all.</p>
  */
 public class SubmarineInventory implements Inventory {
     private final DefaultedList<ItemStack> items;
     private static final int INVENTORY_SIZE = 27;
 
+    private boolean cachesDirty = true;
+    private int cachedFuelGeneration = -1;
+    private final Reference2IntOpenHashMap<TorpedoItem> torpedoCounts = new Reference2IntOpenHashMap<>();
+    private int totalTorpedoCount;
+    private int firstTorpedoSlot;
+    private int firstFreeSlot;
+    private final int[] fuelSlots = new int[INVENTORY_SIZE];
+    private final float[] slotFuelValues = new float[INVENTORY_SIZE];
+    private int fuelSlotCount;
+
+    private Runnable changeListener;
+
     public SubmarineInventory() {
         this.items = DefaultedList.ofSize(INVENTORY_SIZE, ItemStack.EMPTY);
     }
@@ -51,7 +70,11 @@ public class SubmarineInventory implements Inventory {
 
     @Override
     public ItemStack removeStack(int slot) {
-        return Inventories.removeStack(items, slot);
+        ItemStack result = Inventories.removeStack(items, slot);
+        if (!result.isEmpty()) {
+            markDirty();
+        }
+        return result;
     }
 
     @Override
@@ -65,6 +88,19 @@ public class SubmarineInventory implements Inventory {
 
     @Override
     public void markDirty() {
+        cachesDirty = true;
+        if (changeListener != null) {
+            changeListener.run();
+        }
+    }
+
+    /**
+     * Sets a callback that runs whenever the contents change.
+     *
+     * @param changeListener the callback, or null to remove it
+     */
+    public void setChangeListener(Runnable changeListener) {
+        this.changeListener = changeListener;
     }
 
     @Override
@@ -75,13 +111,127 @@ public class SubmarineInventory implements Inventory {
     @Override
     public void clear() {
         items.clear();
+        markDirty();
     }
 
     public void readNbt(NbtCompound nbt, RegistryWrapper.WrapperLookup registryLookup) {
         Inventories.readNbt(nbt, items, registryLookup);
+        markDirty();
     }
 
     public void writeNbt(NbtCompound nbt, RegistryWrapper.WrapperLookup registryLookup) {
         Inventories.writeNbt(nbt, items, registryLookup);
     }
-}
\ No newline at end of file
+
+    /**
+     * Gets the total number of torpedoes of every type.
+     *
+     * @return the torpedo count
+     */
+    public int getTorpedoCount() {
+        refreshCaches();
+        return totalTorpedoCount;
+    }
+
+    /**
+     * Gets the number of torpedoes of one type.
+     *
+     * @param torpedoItem the torpedo item to count
+     * @return the torpedo count for that item
+     */
+    public int getTorpedoCount(TorpedoItem torpedoItem) {
+        refreshCaches();
+        return torpedoCounts.getInt(torpedoItem);
+    }
+
+    /**
+     * Gets the first slot that holds a torpedo.
+     *
+     * @return the slot index, or -1 if there are no torpedoes
+     */
+    public int getFirstTorpedoSlot() {
+        refreshCaches();
+        return firstTorpedoSlot;
+    }
+
+    /**
+     * Gets the first empty slot.
+     *
+     * @return the slot index, or -1 if the inventory is full
+     */
+    public int getFirstFreeSlot() {
+        refreshCaches();
+        return firstFreeSlot;
+    }
+
+    /**
+     * Gets how many slots hold something that can be burned for power.
+     *
+     * @return the number of fuel slots
+     */
+    public int getFuelSlotCount() {
+        refreshCaches();
+        return fuelSlotCount;
+    }
+
+    /**
+     * Gets a fuel slot by rank. Rank 0 is the slot with the most power per item, ties are kept in slot order.
+     *
+     * @param rank the rank, from 0 to {@link #getFuelSlotCount()} - 1
+     * @return the slot index
+     */
+    public int getFuelSlot(int rank) {
+        refreshCaches();
+        return fuelSlots[rank];
+    }
+
+    private void refreshCaches() {
+        if (!cachesDirty && cachedFuelGeneration == FuelRegistry.getGeneration()) {
+            return;
+        }
+
+        torpedoCounts.clear();
+        totalTorpedoCount = 0;
+        firstTorpedoSlot = -1;
+        firstFreeSlot = -1;
+        fuelSlotCount = 0;
+
+        for (int i = 0; i < INVENTORY_SIZE; i++) {
+            ItemStack stack = items.get(i);
+            if (stack.isEmpty()) {
+                if (firstFreeSlot < 0) {
+                    firstFreeSlot = i;
+                }
+                continue;
+            }
+
+            if (stack.getItem() instanceof TorpedoItem torpedoItem) {
+                torpedoCounts.addTo(torpedoItem, stack.getCount());
+                totalTorpedoCount += stack.getCount();
+                if (firstTorpedoSlot < 0) {
+                    firstTorpedoSlot = i;
+                }
+                continue;
+            }
+
+            float fuelValue = FuelRegistry.getPowerValue(stack);
+            if (fuelValue > 0) {
+                slotFuelValues[i] = fuelValue;
+                insertFuelSlot(i, fuelValue);
+            }
+        }
+
+        cachesDirty = false;
+        cachedFuelGeneration = FuelRegistry.getGeneration();
+    }
+
+    private void insertFuelSlot(int slot, float fuelValue) {
+        int position = fuelSlotCount;
+        while (position > 0 && slotFuelValues[fuelSlots[position - 1]] < fuelValue) {
+            fuelSlots[position] = fuelSlots[position - 1];
+            position--;
+        }
+        fuelSlots[position] = slot;
+        fuelSlotCount++;
+    }
+}
@@ -0,0 +1,101 @@
+package net.rizen.submarines.api.submarine;
+
+import net.minecraft.entity.player.PlayerEntity;
+import net.rizen.submarines.network.NetworkChannel;
+import net.rizen.submarines.network.NetworkStats;
+
+/**
+ * Collects pilot input from the packet receiver until the submarine's next tick. Receivers run on the server
+ * thread, so this is not about handing data between threads. It lets the receiver just store the packet, without a
+ * lambda or {@code server.execute} task per packet. The newest input simply overwrites the last one, and the
+ * submarine picks it up once at the start of its tick, so a burst of inputs between two ticks costs one update.
+ * Discrete actions cannot be overwritten like that and go on a small bounded queue instead. Actions that do not fit
+ * are dropped.
+ */
+public class SubmarineMailbox {
+    private static final int ACTION_CAPACITY = 8;
+
+    /**
+     * Set in the packed input while it has not been picked up, so an empty mailbox reads as zero.
+     */
+    private static final long PENDING = 1L << 32;
+
+    private long input = 0;
+
+    private final int[] actions = new int[ACTION_CAPACITY];
+    private final PlayerEntity[] senders = new PlayerEntity[ACTION_CAPACITY];
+    private int actionStart = 0;
+    private int actionCount = 0;
+
+    /**
+     * Replaces the pending input.
+     *
+     * @param sequence the input's 16-bit sequence number
+     * @param packedInputs the input bitmask
+     */
+    public void postInput(int sequence, int packedInputs) {
+        input = PENDING | (long) (sequence & 0xFFFF) << 8 | (packedInputs & 0xFF);
+    }
+
+    /**
+     * Queues actions sent by a passenger.
+     *
+     * @param sender the passenger who sent them
+     * @param actionFlags the action flags
+     * @return false if the queue was full and the actions were dropped
+     */
+    public boolean postActions(PlayerEntity sender, int actionFlags) {
+        if (actionCount == ACTION_CAPACITY) {
+            return false;
+        }
+        int index = (actionStart + actionCount) % ACTION_CAPACITY;
+        actions[index] = actionFlags;
+        senders[index] = sender;
+        actionCount++;
+        return true;
+    }
+
+    /**
+     * Applies the pending input and runs the queued actions. Called from the submarine's server tick.
+     *
+     * @param submarine the submarine this mailbox belongs to
+     */
+    public void drain(BaseSubmarine submarine) {
+        long packed = input;
+        input = 0;
+        if (packed == 0 && actionCount == 0) {
+            return;
+        }
+
+        long start = System.nanoTime();
+        if (packed != 0) {
+            submarine.applyInput((int) (packed >>> 8) & 0xFFFF, (int) packed & 0xFF);
+        }
+
+        while (actionCount > 0) {
+            PlayerEntity sender = senders[actionStart];
+            int actionFlags = actions[actionStart];
+            senders[actionStart] = null;
+            actionStart = (actionStart + 1) % ACTION_CAPACITY;
+            actionCount--;
+
+            if (submarine.hasPassenger(sender)) {
+                submarine.performActions(sender, actionFlags);
+            }
+        }
+
+        NetworkStats.record(NetworkChannel.ACTION, NetworkStats.Metric.HANDLER_NANOS, System.nanoTime() - start);
+    }
+
+    /**
+     * Throws away anything pending. Called when a passenger leaves.
+     */
+    public void clear() {
+        input = 0;
+        for (int i = 0; i < ACTION_CAPACITY; i++) {
+            senders[i] = null;
+        }
+        actionStart = 0;
+        actionCount = 0;
+    }
+}
@@ -2,11 +2,10 @@ package net.rizen.submarines.api.submarine;
 
 import net.minecraft.entity.Entity;
 import net.minecraft.util.math.Vec3d;
-import net.minecraft.world.World;
 
 /**
  * Applies physics rules to keep submarines behaving correctly in water. This makes sure submarines sink when
- * they are out of water, prevents them from floating above the surface, and calculates their depth below sea level.
+ * they are out of water and prevents them from floating above the surface.
  */
 public class SubmarinePhysics {
 
@@ -14,16 +13,16 @@ public class SubmarinePhysics {
         return entity.isSubmergedIn(net.minecraft.registry.tag.FluidTags.WATER) || entity.isTouchingWater();
     }
 
-    public Vec3d applyWaterPhysics(Entity entity, Vec3d movement) {
-        if (!isInWater(entity)) {
+    public Vec3d applyWaterPhysics(SubmarineEnvironment environment, Vec3d movement) {
+        if (!environment.isInWater()) {
             double fallSpeed = -0.4;
             return new Vec3d(0, fallSpeed, 0);
         }
         return movement;
     }
 
-    public Vec3d constrainToWaterSurface(World world, Entity entity, Vec3d movement) {
-        int waterLevel = world.getSeaLevel();
+    public Vec3d constrainToWaterSurface(SubmarineEnvironment environment, Entity entity, Vec3d movement) {
+        double waterLevel = environment.getSurfaceY();
         double nextY = entity.getY() + movement.y;
 
         float entityHeight = entity.getHeight();
@@ -38,9 +37,4 @@ public class SubmarinePhysics {
 
         return movement;
     }
-
-    public int calculateDepth(World world, Entity entity) {
-        int waterSurface = world.getSeaLevel();
-        return Math.max(0, waterSurface - (int) entity.getY());
-    }
-}
\ No newline at end of file
+}
@@ -0,0 +1,69 @@
+package net.rizen.submarines.api.submarine;
+
+import net.rizen.submarines.config.SubmarinesConfig;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Arrays;
+
+/**
+ * Remembers where a submarine was over the last few ticks, so torpedo hits can be checked against where the firing
+ * pilot saw it rather than where it is now. Server side only.
+ *
+ * <p>Positions are kept in plain arrays used as a ring, with one slot per tick indexed by world time, so recording
+ * does not allocate and looking up a tick is a single slot read. The ring holds
+ * {@link SubmarinesConfig#lagCompensationMaxTicks} ticks plus the current one. A slot that was not written on the
+ * tick asked for, for example because the submarine was dormant, counts as missing.</p>
+ */
+public class SubmarinePositionHistory {
+    private final int capacity;
+    private final long[] ticks;
+    private final double[] x;
+    private final double[] y;
+    private final double[] z;
+    private final float[] yaw;
+
+    public SubmarinePositionHistory() {
+        this.capacity = SubmarinesConfig.lagCompensationMaxTicks + 1;
+        this.ticks = new long[capacity];
+        this.x = new double[capacity];
+        this.y = new double[capacity];
+        this.z = new double[capacity];
+        this.yaw = new float[capacity];
+        Arrays.fill(ticks, Long.MIN_VALUE);
+    }
+
+    /**
+     * Stores the submarine's position for a tick. Called once at the end of each server tick.
+     *
+     * @param tick the world time
+     * @param submarine the submarine
+     */
+    public void record(long tick, BaseSubmarine submarine) {
+        int slot = slot(tick);
+        ticks[slot] = tick;
+        x[slot] = submarine.getX();
+        y[slot] = submarine.getY();
+        z[slot] = submarine.getZ();
+        yaw[slot] = submarine.getYaw();
+    }
+
+    /**
+     * Gets the hull as it was on an earlier tick.
+     *
+     * @param submarine the submarine
+     * @param tick the world time to look up
+     * @return the hull box at that tick, or null if that tick is not in the history
+     */
+    @Nullable
+    public OrientedBox getHullBox(BaseSubmarine submarine, long tick) {
+        int slot = slot(tick);
+        if (ticks[slot] != tick) {
+            return null;
+        }
+        return submarine.getHullBox(x[slot], y[slot], z[slot], yaw[slot]);
+    }
+
+    private int slot(long tick) {
+        return (int) Math.floorMod(tick, capacity);
+    }
+}
@@ -1,14 +1,13 @@
 package net.rizen.submarines.api.submarine;
 
-import net.rizen.submarines.api.item.TorpedoItem;
-import net.minecraft.inventory.Inventory;
 import net.minecraft.item.ItemStack;
-import net.minecraft.item.Items;
-import net.minecraft.registry.tag.ItemTags;
+import net.rizen.submarines.api.submarine.fuel.FuelEntry;
+import net.rizen.submarines.api.submarine.fuel.FuelRegistry;
 
 /**
  * Manages the power system for submarines. Power gets consumed when moving and gets replenished by
- * burning fuel items from the submarine inventory. Different fuel items provide different amounts of power.
+ * burning fuel items from the submarine inventory. Different fuel items provide different amounts of power,
+ * as defined by the {@link FuelRegistry}.
  */
 public class SubmarinePower {
     private final float maxPower;
@@ -27,75 +26,55 @@ public class SubmarinePower {
         }
     }
 
-    public boolean tryConsumeFuel(Inventory inventory) {
+    /**
+     * Burns one fuel item if the submarine needs power. Fuel slots are tried from the most to the least
+     * powerful, so the biggest fuel that fits without waste gets used first.
+     *
+     * @param inventory the submarine inventory
+     * @return true if fuel was burned
+     */
+    public boolean tryConsumeFuel(SubmarineInventory inventory) {
         if (currentPower >= maxPower) {
             return false;
         }
 
-        for (int i = 0; i < inventory.size(); i++) {
-            ItemStack stack = inventory.getStack(i);
-            if (stack.isEmpty() || stack.getItem() instanceof TorpedoItem) {
+        int fuelSlotCount = inventory.getFuelSlotCount();
+        for (int rank = 0; rank < fuelSlotCount; rank++) {
+            int slot = inventory.getFuelSlot(rank);
+            ItemStack stack = inventory.getStack(slot);
+
+            FuelEntry fuel = FuelRegistry.get(stack.getItem());
+            if (fuel == null) {
                 continue;
             }
 
-            float fuelValue = getFuelPowerValue(stack);
-            if (fuelValue > 0) {
-                float powerNeeded = maxPower - currentPower;
-                float wastedPower = fuelValue - powerNeeded;
-                boolean shouldUseFuel = wastedPower <= 0 || currentPower <= getUsageThreshold(stack);
-
-                if (shouldUseFuel) {
-                    currentPower = Math.min(maxPower, currentPower + fuelValue);
-                    boolean isLavaBucket = stack.getItem() == Items.LAVA_BUCKET;
-                    stack.decrement(1);
-
-                    if (isLavaBucket) {
-                        if (stack.isEmpty()) {
-                            inventory.setStack(i, new ItemStack(Items.BUCKET));
-                        } else {
-                            addItemToInventory(inventory, new ItemStack(Items.BUCKET));
-                        }
-                    }
+            float powerNeeded = maxPower - currentPower;
+            float wastedPower = fuel.power() - powerNeeded;
+            boolean shouldUseFuel = wastedPower <= 0 || currentPower <= fuel.usageThreshold();
+
+            if (shouldUseFuel) {
+                currentPower = Math.min(maxPower, currentPower + fuel.power());
+                stack.decrement(1);
 
-                    inventory.markDirty();
-                    return true;
+                if (fuel.remainder() != null) {
+                    if (stack.isEmpty()) {
+                        inventory.setStack(slot, new ItemStack(fuel.remainder()));
+                    } else {
+                        addItemToInventory(inventory, new ItemStack(fuel.remainder()));
+                    }
                 }
+
+                inventory.markDirty();
+                return true;
             }
         }
         return false;
     }
 
-    private float getFuelPowerValue(ItemStack stack) {
-        if (stack.getItem() == Items.LAVA_BUCKET) return 50.0f;
-        if (stack.getItem() == Items.COAL_BLOCK) return 30.0f;
-        if (stack.getItem() == Items.DRIED_KELP_BLOCK) return 10.0f;
-        if (stack.getItem() == Items.BLAZE_ROD) return 5.0f;
-        if (stack.getItem() == Items.COAL) return 3.0f;
-        if (stack.getItem() == Items.CHARCOAL) return 3.0f;
-        if (stack.isIn(ItemTags.LOGS)) return 1.5f;
-        if (stack.isIn(ItemTags.PLANKS)) return 1.0f;
-        if (stack.getItem() == Items.STICK) return 0.5f;
-        if (stack.getItem() == Items.BAMBOO) return 1.0f;
-        return 0.0f;
-    }
-
-    private float getUsageThreshold(ItemStack stack) {
-        if (stack.getItem() == Items.LAVA_BUCKET) return 50.0f;
-        if (stack.getItem() == Items.COAL_BLOCK) return 70.0f;
-        if (stack.getItem() == Items.DRIED_KELP_BLOCK) return 90.0f;
-        if (stack.getItem() == Items.BLAZE_ROD) return 95.0f;
-        if (stack.getItem() == Items.COAL) return 97.0f;
-        if (stack.getItem() == Items.CHARCOAL) return 97.0f;
-        return 100.0f;
-    }
-
-    private void addItemToInventory(Inventory inventory, ItemStack stack) {
+    private void addItemToInventory(SubmarineInventory inventory, ItemStack stack) {
         for (int i = 0; i < inventory.size(); i++) {
             ItemStack slotStack = inventory.getStack(i);
-            if (slotStack.isEmpty()) {
-                inventory.setStack(i, stack);
-                return;
-            } else if (ItemStack.areItemsAndComponentsEqual(slotStack, stack)) {
+            if (!slotStack.isEmpty() && ItemStack.areItemsAndComponentsEqual(slotStack, stack)) {
                 int maxCount = Math.min(stack.getMaxCount(), inventory.getMaxCountPerStack());
                 int transferAmount = Math.min(stack.getCount(), maxCount - slotStack.getCount());
                 if (transferAmount > 0) {
@@ -107,6 +86,11 @@ public class SubmarinePower {
                 }
             }
         }
+
+        int freeSlot = inventory.getFirstFreeSlot();
+        if (freeSlot >= 0) {
+            inventory.setStack(freeSlot, stack);
+        }
     }
 
     public boolean consumePowerAmount(float amount) {
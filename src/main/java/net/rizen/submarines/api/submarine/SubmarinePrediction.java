@@ -0,0 +1,99 @@
+package net.rizen.submarines.api.submarine;
+
+/**
+ * Remembers the inputs the pilot's client simulated with, one entry per tick, so they can be replayed on top of
+ * the server's state when it arrives. Each entry holds the input bitmask and the sequence number of the packet
+ * that carried it. Only used on the client, for the submarine the local player is piloting.
+ *
+ * <p>The server reports the newest sequence it has applied and how many ticks it has run since. The first entry
+ * with that sequence is where the server started using it, so that many entries from there on are confirmed and
+ * everything after them still has to be replayed.</p>
+ */
+public class SubmarinePrediction {
+    private static final int CAPACITY = 64;
+
+    private final int[] sequences = new int[CAPACITY];
+    private final int[] inputs = new int[CAPACITY];
+    private int start = 0;
+    private int size = 0;
+
+    private int latestSequence = -1;
+    private int latestInputs = 0;
+
+    /**
+     * Sets the input sent most recently. It is used for every tick from now on until the next one is sent.
+     *
+     * @param sequence the input packet's sequence number
+     * @param packedInputs the input bitmask
+     */
+    public void setLatestInput(int sequence, int packedInputs) {
+        this.latestSequence = sequence;
+        this.latestInputs = packedInputs;
+    }
+
+    /**
+     * Records that one tick was simulated with the latest input.
+     *
+     * @return the input bitmask to simulate with
+     */
+    public int record() {
+        if (size == CAPACITY) {
+            start = (start + 1) % CAPACITY;
+            size--;
+        }
+        int index = (start + size) % CAPACITY;
+        sequences[index] = latestSequence;
+        inputs[index] = latestInputs;
+        size++;
+        return latestInputs;
+    }
+
+    /**
+     * Drops the entries the server has confirmed. Afterwards the remaining entries are the ones to replay.
+     *
+     * @param ackSequence the newest sequence the server has applied
+     * @param ticksSinceAck how many ticks the server has simulated with it
+     * @return false if the history does not reach back far enough, in which case it is cleared and the server's
+     *         state should be used as it is
+     */
+    public boolean acknowledge(int ackSequence, int ticksSinceAck) {
+        for (int i = 0; i < size; i++) {
+            if (sequences[(start + i) % CAPACITY] != ackSequence) {
+                continue;
+            }
+
+            int confirmed = i + ticksSinceAck;
+            if (confirmed > size) {
+                break;
+            }
+            start = (start + confirmed) % CAPACITY;
+            size -= confirmed;
+            return true;
+        }
+
+        start = 0;
+        size = 0;
+        return false;
+    }
+
+    /**
+     * Gets the inputs of a not yet confirmed tick.
+     *
+     * @param index 0 for the oldest unconfirmed tick
+     * @return the input bitmask
+     */
+    public int getInputs(int index) {
+        return inputs[(start + index) % CAPACITY];
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public void clear() {
+        start = 0;
+        size = 0;
+        latestSequence = -1;
+        latestInputs = 0;
+    }
+}
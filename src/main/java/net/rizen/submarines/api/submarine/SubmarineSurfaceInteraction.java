@@ -0,0 +1,83 @@
+package net.rizen.submarines.api.submarine;
+
+import net.minecraft.entity.Entity;
+import net.minecraft.registry.tag.FluidTags;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.math.Box;
+import net.minecraft.util.math.MathHelper;
+import net.minecraft.world.World;
+import net.rizen.submarines.Mod;
+
+/**
+ * Breaks floating blocks like lily pads when a submarine runs into them at the surface. Which blocks count as
+ * floating is controlled by the {@code submarines:surface_floaters} block tag.
+ *
+ * <p>This only does any work while the top of the hull is near the water surface and the hull has moved into new
+ * block columns. Then only the newly entered columns are checked, and only in the thin layer at the top of the hull
+ * where floating blocks can be. A submarine cruising deep or sitting still costs two fluid lookups per tick.</p>
+ */
+public class SubmarineSurfaceInteraction {
+    private boolean hasFootprint = false;
+    private int lastMinX;
+    private int lastMaxX;
+    private int lastMinZ;
+    private int lastMaxZ;
+    private int lastTopY;
+
+    private final BlockPos.Mutable scanPos = new BlockPos.Mutable();
+
+    public void tick(World world, Entity entity) {
+        Box box = entity.getBoundingBox();
+        int topY = MathHelper.ceil(box.maxY);
+
+        if (!isNearSurface(world, entity, topY)) {
+            hasFootprint = false;
+            return;
+        }
+
+        int minX = MathHelper.floor(box.minX);
+        int maxX = MathHelper.floor(box.maxX);
+        int minZ = MathHelper.floor(box.minZ);
+        int maxZ = MathHelper.floor(box.maxZ);
+
+        boolean fullScan = !hasFootprint || topY != lastTopY;
+        if (!fullScan && minX == lastMinX && maxX == lastMaxX && minZ == lastMinZ && maxZ == lastMaxZ) {
+            return;
+        }
+
+        int minY = Math.max(MathHelper.floor(box.minY), topY - 1);
+        for (int x = minX; x <= maxX; x++) {
+            for (int z = minZ; z <= maxZ; z++) {
+                if (!fullScan && x >= lastMinX && x <= lastMaxX && z >= lastMinZ && z <= lastMaxZ) {
+                    continue;
+                }
+                for (int y = minY; y <= topY; y++) {
+                    scanPos.set(x, y, z);
+                    if (world.getBlockState(scanPos).isIn(Mod.SURFACE_FLOATERS)) {
+                        world.breakBlock(scanPos, true);
+                    }
+                }
+            }
+        }
+
+        hasFootprint = true;
+        lastMinX = minX;
+        lastMaxX = maxX;
+        lastMinZ = minZ;
+        lastMaxZ = maxZ;
+        lastTopY = topY;
+    }
+
+    /**
+     * Checks whether the top of the hull is within one block of the surface, meaning there is something other
+     * than water at the hull top or right above it.
+     */
+    private boolean isNearSurface(World world, Entity entity, int topY) {
+        scanPos.set(entity.getX(), topY, entity.getZ());
+        if (!world.getFluidState(scanPos).isIn(FluidTags.WATER)) {
+            return true;
+        }
+        scanPos.setY(topY + 1);
+        return !world.getFluidState(scanPos).isIn(FluidTags.WATER);
+    }
+}
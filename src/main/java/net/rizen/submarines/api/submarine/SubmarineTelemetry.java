@@ -0,0 +1,71 @@
+package net.rizen.submarines.api.submarine;
+
+/**
+ * HUD values that only the pilot needs: power, torpedo arming timer, torpedo count, and unrounded speed.
+ *
+ * <p>On the server this remembers what was last sent to the pilot so unchanged values are not sent again.
+ * On the client it holds what was last received.</p>
+ */
+public class SubmarineTelemetry {
+    private static final float POWER_EPSILON = 0.05f;
+    private static final float SPEED_EPSILON = 0.0005f;
+
+    private boolean valid = false;
+    private float power;
+    private int torpedoArmingTimer;
+    private int torpedoCount;
+    private float speed;
+
+    /**
+     * Stores new values if they differ enough from the last ones.
+     *
+     * @return true if anything changed and the values should be sent
+     */
+    public boolean update(float power, int torpedoArmingTimer, int torpedoCount, float speed) {
+        if (valid
+                && Math.abs(this.power - power) < POWER_EPSILON
+                && this.torpedoArmingTimer == torpedoArmingTimer
+                && this.torpedoCount == torpedoCount
+                && Math.abs(this.speed - speed) < SPEED_EPSILON) {
+            return false;
+        }
+
+        set(power, torpedoArmingTimer, torpedoCount, speed);
+        return true;
+    }
+
+    public void set(float power, int torpedoArmingTimer, int torpedoCount, float speed) {
+        this.power = power;
+        this.torpedoArmingTimer = torpedoArmingTimer;
+        this.torpedoCount = torpedoCount;
+        this.speed = speed;
+        this.valid = true;
+    }
+
+    /**
+     * Forgets the stored values, so the next update always reports a change.
+     */
+    public void invalidate() {
+        this.valid = false;
+    }
+
+    public boolean isValid() {
+        return valid;
+    }
+
+    public float getPower() {
+        return power;
+    }
+
+    public int getTorpedoArmingTimer() {
+        return torpedoArmingTimer;
+    }
+
+    public int getTorpedoCount() {
+        return torpedoCount;
+    }
+
+    public float getSpeed() {
+        return speed;
+    }
+}
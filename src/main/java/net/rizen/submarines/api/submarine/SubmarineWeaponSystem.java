@@ -1,9 +1,5 @@
 package net.rizen.submarines.api.submarine;
 
-import net.rizen.submarines.api.item.TorpedoItem;
-import net.minecraft.inventory.Inventory;
-import net.minecraft.item.ItemStack;
-
 /**
  * Manages torpedo firing mechanics for submarines. This tracks the cooldown between shots and the arming timer
  * that activates when new torpedoes are loaded. Torpedoes need to finish arming before they can be fired.
@@ -30,35 +26,37 @@ public class SubmarineWeaponSystem {
         }
     }
 
-    public int countTorpedoes(Inventory inventory) {
-        int count = 0;
-        for (int i = 0; i < inventory.size(); i++) {
-            ItemStack stack = inventory.getStack(i);
-            if (stack.getItem() instanceof TorpedoItem) {
-                count += stack.getCount();
-            }
-        }
-        return count;
+    /**
+     * Runs the cooldown and arming timers forward by several ticks at once.
+     *
+     * @param ticks number of ticks that passed
+     */
+    public void catchUp(long ticks) {
+        torpedoCooldown = (int) Math.max(0, torpedoCooldown - ticks);
+        torpedoArmingTimer = (int) Math.max(0, torpedoArmingTimer - ticks);
     }
 
-    public void updateTorpedoCount(Inventory inventory) {
-        int currentCount = countTorpedoes(inventory);
+    public int countTorpedoes(SubmarineInventory inventory) {
+        return inventory.getTorpedoCount();
+    }
+
+    public void updateTorpedoCount(SubmarineInventory inventory) {
+        int currentCount = inventory.getTorpedoCount();
         if (previousTorpedoCount == 0 && currentCount > 0) {
             torpedoArmingTimer = armingTicks;
         }
         previousTorpedoCount = currentCount;
     }
 
-    public boolean findAndConsumeTorpedo(Inventory inventory) {
-        for (int i = 0; i < inventory.size(); i++) {
-            ItemStack stack = inventory.getStack(i);
-            if (stack.getItem() instanceof TorpedoItem && !stack.isEmpty()) {
-                stack.decrement(1);
-                inventory.markDirty();
-                return true;
-            }
+    public boolean findAndConsumeTorpedo(SubmarineInventory inventory) {
+        int slot = inventory.getFirstTorpedoSlot();
+        if (slot < 0) {
+            return false;
         }
-        return false;
+
+        inventory.getStack(slot).decrement(1);
+        inventory.markDirty();
+        return true;
     }
 
     public boolean canFire() {
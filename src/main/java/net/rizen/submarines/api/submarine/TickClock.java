@@ -0,0 +1,52 @@
+package net.rizen.submarines.api.submarine;
+
+import net.minecraft.server.MinecraftServer;
+import net.minecraft.world.World;
+
+/**
+ * Source of game time for anything that needs timers, like sonar contacts and packet cooldowns. Time is counted in
+ * game ticks instead of milliseconds, so a lag spike slows timers down together with the rest of the game instead of
+ * making them expire early.
+ *
+ * <p>Rendering code can ask for a fractional time by passing in the partial tick, which keeps animations smooth
+ * between ticks. Benchmarks and replays can use {@link ManualTickClock} to step time as fast as they want.</p>
+ */
+@FunctionalInterface
+public interface TickClock {
+    /**
+     * Gets the current game tick.
+     *
+     * @return the current tick
+     */
+    long getTick();
+
+    /**
+     * Gets the current time including the partial tick, for rendering.
+     *
+     * @param tickDelta progress between the last tick and the next one, from 0 to 1
+     * @return the current time in ticks
+     */
+    default double getTime(float tickDelta) {
+        return getTick() + tickDelta;
+    }
+
+    /**
+     * Creates a clock that follows the game time of a world. This works on both the client and the server.
+     *
+     * @param world the world to follow
+     * @return a clock backed by the world time
+     */
+    static TickClock of(World world) {
+        return world::getTime;
+    }
+
+    /**
+     * Creates a clock that follows the server tick counter. Safe to read from the network thread.
+     *
+     * @param server the server to follow
+     * @return a clock backed by the server tick counter
+     */
+    static TickClock of(MinecraftServer server) {
+        return server::getTicks;
+    }
+}
@@ -0,0 +1,15 @@
+package net.rizen.submarines.api.submarine.fuel;
+
+import net.minecraft.item.Item;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * How a single fuel item behaves when a submarine burns it.
+ *
+ * @param power how much power one item gives
+ * @param usageThreshold the fuel is only burned when power would otherwise be wasted if current power is at or
+ *                       below this value
+ * @param remainder item left behind after burning, like the empty bucket from a lava bucket, or null for none
+ */
+public record FuelEntry(float power, float usageThreshold, @Nullable Item remainder) {
+}
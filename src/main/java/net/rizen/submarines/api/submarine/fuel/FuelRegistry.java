@@ -0,0 +1,178 @@
+package net.rizen.submarines.api.submarine.fuel;
+
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import it.unimi.dsi.fastutil.objects.Reference2ObjectOpenHashMap;
+import net.fabricmc.fabric.api.event.lifecycle.v1.CommonLifecycleEvents;
+import net.fabricmc.fabric.api.resource.ResourceManagerHelper;
+import net.fabricmc.fabric.api.resource.SimpleSynchronousResourceReloadListener;
+import net.minecraft.item.Item;
+import net.minecraft.item.ItemStack;
+import net.minecraft.registry.Registries;
+import net.minecraft.registry.RegistryKeys;
+import net.minecraft.registry.entry.RegistryEntry;
+import net.minecraft.registry.tag.TagKey;
+import net.minecraft.resource.Resource;
+import net.minecraft.resource.ResourceManager;
+import net.minecraft.resource.ResourceType;
+import net.minecraft.util.Identifier;
+import net.minecraft.util.JsonHelper;
+import net.rizen.submarines.Mod;
+import org.jetbrains.annotations.Nullable;
+import org.slf4j.Logger;
+
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Registry of items that submarines can burn for power, loaded from data packs.
+ *
+ * <p>Each JSON file in {@code data/<namespace>/submarine_fuel/} defines one fuel for either a single item or an
+ * item tag:</p>
+ * <pre>{@code
+ * {
+ *   "item": "minecraft:lava_bucket",   // or "tag": "minecraft:logs"
+ *   "power": 50.0,
+ *   "usage_threshold": 50.0,           // optional, defaults to 100
+ *   "remainder": "minecraft:bucket"    // optional
+ * }
+ * }</pre>
+ *
+ * <p>Definitions are read when data packs load and compiled into an item lookup table once tags are bound, so
+ * looking up a fuel is a single map access. Item entries win over tag entries for the same item.</p>
+ */
+public class FuelRegistry {
+    private static final Logger LOGGER = Mod.LOGGER;
+    private static final String DIRECTORY = "submarine_fuel";
+    private static final float DEFAULT_USAGE_THRESHOLD = 100.0f;
+
+    private static List<FuelDefinition> definitions = List.of();
+    private static Map<Item, FuelEntry> fuels = new Reference2ObjectOpenHashMap<>();
+    private static int generation = 0;
+
+    public static void register() {
+        ResourceManagerHelper.get(ResourceType.SERVER_DATA).registerReloadListener(new SimpleSynchronousResourceReloadListener() {
+            @Override
+            public Identifier getFabricId() {
+                return Identifier.of(Mod.MOD_ID, DIRECTORY);
+            }
+
+            @Override
+            public void reload(ResourceManager manager) {
+                loadDefinitions(manager);
+            }
+        });
+
+        CommonLifecycleEvents.TAGS_LOADED.register((registries, client) -> {
+            if (!client) {
+                compile();
+            }
+        });
+    }
+
+    /**
+     * Gets the fuel entry for an item.
+     *
+     * @param item the item
+     * @return the fuel entry, or null if the item is not a fuel
+     */
+    @Nullable
+    public static FuelEntry get(Item item) {
+        return fuels.get(item);
+    }
+
+    /**
+     * Gets how much power one item of a stack gives.
+     *
+     * @param stack the stack
+     * @return the power value, or 0 if the item is not a fuel
+     */
+    public static float getPowerValue(ItemStack stack) {
+        FuelEntry entry = fuels.get(stack.getItem());
+        return entry != null ? entry.power() : 0.0f;
+    }
+
+    /**
+     * Gets a number that changes every time the fuel table is rebuilt. Anything caching fuel values can compare
+     * this to know when its cache is stale.
+     *
+     * @return the current generation
+     */
+    public static int getGeneration() {
+        return generation;
+    }
+
+    private static void loadDefinitions(ResourceManager manager) {
+        List<FuelDefinition> loaded = new ArrayList<>();
+
+        for (Map.Entry<Identifier, Resource> file : manager.findResources(DIRECTORY, id -> id.getPath().endsWith(".json")).entrySet()) {
+            try (Reader reader = file.getValue().getReader()) {
+                loaded.add(parse(JsonParser.parseReader(reader)));
+            } catch (Exception e) {
+                LOGGER.error("Failed to load submarine fuel {}", file.getKey(), e);
+            }
+        }
+
+        definitions = loaded;
+    }
+
+    private static FuelDefinition parse(JsonElement element) {
+        JsonObject json = JsonHelper.asObject(element, "submarine fuel");
+
+        Identifier itemId = json.has("item") ? Identifier.of(JsonHelper.getString(json, "item")) : null;
+        TagKey<Item> tag = json.has("tag") ? TagKey.of(RegistryKeys.ITEM, Identifier.of(JsonHelper.getString(json, "tag"))) : null;
+        if ((itemId == null) == (tag == null)) {
+            throw new IllegalArgumentException("Submarine fuel needs exactly one of 'item' or 'tag'");
+        }
+
+        float power = JsonHelper.getFloat(json, "power");
+        if (power <= 0) {
+            throw new IllegalArgumentException("Submarine fuel power must be positive");
+        }
+        float usageThreshold = JsonHelper.getFloat(json, "usage_threshold", DEFAULT_USAGE_THRESHOLD);
+        Identifier remainderId = json.has("remainder") ? Identifier.of(JsonHelper.getString(json, "remainder")) : null;
+
+        return new FuelDefinition(itemId, tag, power, usageThreshold, remainderId);
+    }
+
+    private static void compile() {
+        Reference2ObjectOpenHashMap<Item, FuelEntry> compiled = new Reference2ObjectOpenHashMap<>();
+
+        for (FuelDefinition definition : definitions) {
+            if (definition.tag() == null) {
+                continue;
+            }
+            FuelEntry entry = definition.toEntry();
+            for (RegistryEntry<Item> item : Registries.ITEM.iterateEntries(definition.tag())) {
+                compiled.putIfAbsent(item.value(), entry);
+            }
+        }
+
+        for (FuelDefinition definition : definitions) {
+            if (definition.itemId() == null) {
+                continue;
+            }
+            Item item = Registries.ITEM.getOrEmpty(definition.itemId()).orElse(null);
+            if (item == null) {
+                LOGGER.warn("Unknown submarine fuel item: {}", definition.itemId());
+                continue;
+            }
+            compiled.put(item, definition.toEntry());
+        }
+
+        fuels = compiled;
+        generation++;
+        LOGGER.info("Loaded {} submarine fuel items", compiled.size());
+    }
+
+    private record FuelDefinition(@Nullable Identifier itemId, @Nullable TagKey<Item> tag,
+                                  float power, float usageThreshold, @Nullable Identifier remainderId) {
+        FuelEntry toEntry() {
+            Item remainder = remainderId != null ? Registries.ITEM.getOrEmpty(remainderId).orElse(null) : null;
+            return new FuelEntry(power, usageThreshold, remainder);
+        }
+    }
+}
@@ -8,22 +8,25 @@ import net.minecraft.util.math.Vec3d;
  * the sweep line passes over them.
  */
 public class SonarContact {
+    private static final long UNREVEALED_TIMEOUT_TICKS = 200;
+    private static final long FADE_TICKS = 40;
+
     private final Vec3d relativePosition;
     private final ContactType type;
     private final double distance;
     private final float angle;
-    private final long detectionTime;
+    private final long detectionTick;
     private boolean revealed;
-    private long revealTime;
+    private long revealTick;
 
-    public SonarContact(Vec3d relativePosition, ContactType type, double distance, float angle, long detectionTime) {
+    public SonarContact(Vec3d relativePosition, ContactType type, double distance, float angle, long detectionTick) {
         this.relativePosition = relativePosition;
         this.type = type;
         this.distance = distance;
         this.angle = angle;
-        this.detectionTime = detectionTime;
+        this.detectionTick = detectionTick;
         this.revealed = false;
-        this.revealTime = 0;
+        this.revealTick = 0;
     }
 
     public ContactType getType() {
@@ -42,26 +45,33 @@ public class SonarContact {
         return revealed;
     }
 
-    public void reveal(long currentTime) {
+    public void reveal(long currentTick) {
         this.revealed = true;
-        this.revealTime = currentTime;
+        this.revealTick = currentTick;
     }
 
-    public boolean shouldRemove(long currentTime) {
+    public boolean shouldRemove(long currentTick) {
         if (!revealed) {
-            return currentTime - detectionTime > 10000;
+            return currentTick - detectionTick > UNREVEALED_TIMEOUT_TICKS;
         }
-        return currentTime - revealTime > 2000;
+        return currentTick - revealTick > FADE_TICKS;
     }
 
-    public float getFadeAlpha(long currentTime) {
+    /**
+     * Gets how visible this contact should be on the display. Takes a fractional time so the fade stays smooth
+     * between ticks.
+     *
+     * @param currentTime the current time in ticks, including the partial tick
+     * @return alpha from 0 to 1
+     */
+    public float getFadeAlpha(double currentTime) {
         if (!revealed) {
             return 0.0f;
         }
-        long timeSinceReveal = currentTime - revealTime;
-        if (timeSinceReveal > 2000) {
+        float timeSinceReveal = (float) Math.max(0.0, currentTime - revealTick);
+        if (timeSinceReveal > FADE_TICKS) {
             return 0.0f;
         }
-        return 1.0f - (timeSinceReveal / 2000.0f);
+        return 1.0f - (timeSinceReveal / FADE_TICKS);
     }
 }
@@ -7,6 +7,9 @@ import net.minecraft.util.math.BlockPos;
 import net.minecraft.util.math.Vec3d;
 import net.minecraft.world.RaycastContext;
 import net.minecraft.world.World;
+import net.rizen.submarines.api.submarine.TickClock;
+import net.rizen.submarines.world.SubmarineWorldData;
+import net.rizen.submarines.world.WaterEntityIndex;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -19,33 +22,43 @@ import java.util.List;
  */
 public class SonarSystem {
     private final List<SonarContact> contacts;
+    private final TickClock clock;
     private float sweepAngle;
-    private long lastPingTime;
-    private static final float SWEEP_SPEED = 1.5f;
+    private long lastPingTick;
+    public static final float SWEEP_SPEED = 1.5f;
     private static final double MAX_RANGE = 64.0;
 
-    public SonarSystem() {
+    public SonarSystem(TickClock clock) {
         this.contacts = new ArrayList<>();
+        this.clock = clock;
         this.sweepAngle = 0.0f;
-        this.lastPingTime = 0;
+        this.lastPingTick = 0;
     }
 
     public void tick() {
-        sweepAngle += SWEEP_SPEED;
-        if (sweepAngle >= 360.0f) {
-            sweepAngle -= 360.0f;
-        }
+        long currentTick = clock.getTick();
+        sweepAngle = getSweepAngle(currentTick);
 
-        long currentTime = System.currentTimeMillis();
-        contacts.removeIf(contact -> contact.shouldRemove(currentTime));
+        contacts.removeIf(contact -> contact.shouldRemove(currentTick));
 
         for (SonarContact contact : contacts) {
             if (!contact.isRevealed() && isAngleInSweep(contact.getAngle())) {
-                contact.reveal(currentTime);
+                contact.reveal(currentTick);
             }
         }
     }
 
+    /**
+     * Gets the sweep angle at a point in time. The sweep is a pure function of the clock, so the server and the HUD
+     * agree on where it is without syncing it.
+     *
+     * @param time the time in ticks, may include a partial tick
+     * @return sweep angle in degrees, from 0 to 360
+     */
+    public static float getSweepAngle(double time) {
+        return (float) ((time * SWEEP_SPEED) % 360.0);
+    }
+
     private boolean isAngleInSweep(float contactAngle) {
         float tolerance = SWEEP_SPEED + 2.0f;
         float diff = Math.abs(normalizeAngle(sweepAngle - contactAngle));
@@ -59,38 +72,48 @@ public class SonarSystem {
     }
 
     public void performPing(World world, Vec3d submarinePos, float submarineYaw, Entity submarine) {
-        lastPingTime = System.currentTimeMillis();
+        lastPingTick = clock.getTick();
         contacts.clear();
 
         detectEntities(world, submarinePos, submarineYaw);
+        detectDistantSubmarines(world, submarinePos, submarineYaw);
         detectTerrain(world, submarinePos, submarineYaw, submarine);
     }
 
     private void detectEntities(World world, Vec3d submarinePos, float submarineYaw) {
-        List<Entity> nearbyEntities = world.getOtherEntities(null,
-                new net.minecraft.util.math.Box(
-                        submarinePos.x - MAX_RANGE, submarinePos.y - MAX_RANGE, submarinePos.z - MAX_RANGE,
-                        submarinePos.x + MAX_RANGE, submarinePos.y + MAX_RANGE, submarinePos.z + MAX_RANGE
-                ));
+        WaterEntityIndex waterEntities = SubmarineWorldData.get(world).getWaterEntityIndex();
 
-        for (Entity entity : nearbyEntities) {
+        waterEntities.forEachInRange(submarinePos, MAX_RANGE, entity -> {
             Vec3d entityPos = entity.getPos();
             Vec3d relativePos = entityPos.subtract(submarinePos);
             double distance = relativePos.length();
 
             if (distance > MAX_RANGE || distance < 5.0) {
-                continue;
-            }
-
-            if (!isEntityInWater(world, entity)) {
-                continue;
+                return;
             }
 
             float angle = calculateAngle(relativePos, submarineYaw);
             ContactType type = classifyEntity(entity);
 
-            contacts.add(new SonarContact(relativePos, type, distance, angle, lastPingTime));
-        }
+            contacts.add(new SonarContact(relativePos, type, distance, angle, lastPingTick));
+        });
+    }
+
+    /**
+     * Adds submarines beyond entity tracking range, using the contact list the server sends to pilots. These show
+     * up on the edge of the display at their bearing. Only the client has this list.
+     */
+    private void detectDistantSubmarines(World world, Vec3d submarinePos, float submarineYaw) {
+        SubmarineWorldData.get(world).getContactProxies().forEach(lastPingTick, proxy -> {
+            Vec3d relativePos = proxy.pos().subtract(submarinePos);
+            double distance = relativePos.length();
+            if (distance <= MAX_RANGE) {
+                return;
+            }
+
+            float angle = calculateAngle(relativePos, submarineYaw);
+            contacts.add(new SonarContact(relativePos, ContactType.SUBMARINE, distance, angle, lastPingTick));
+        });
     }
 
     private void detectTerrain(World world, Vec3d submarinePos, float submarineYaw, Entity submarine) {
@@ -117,16 +140,12 @@ public class SonarSystem {
                     Vec3d relativePos = hitPos.subtract(submarinePos);
                     double dist = relativePos.length();
                     float angle = calculateAngle(relativePos, submarineYaw);
-                    contacts.add(new SonarContact(relativePos, ContactType.TERRAIN, dist, angle, lastPingTime));
+                    contacts.add(new SonarContact(relativePos, ContactType.TERRAIN, dist, angle, lastPingTick));
                 }
             }
         }
     }
 
-    private boolean isEntityInWater(World world, Entity entity) {
-        return entity.isSubmergedInWater() || entity.isTouchingWater();
-    }
-
     private boolean isBlockUnderwater(World world, BlockPos blockPos) {
         return !world.getFluidState(blockPos.up()).isEmpty() ||
                !world.getFluidState(blockPos).isEmpty();
@@ -170,8 +189,12 @@ public class SonarSystem {
         return sweepAngle;
     }
 
-    public long getLastPingTime() {
-        return lastPingTime;
+    public long getLastPingTick() {
+        return lastPingTick;
+    }
+
+    public TickClock getClock() {
+        return clock;
     }
 
     public double getMaxRange() {
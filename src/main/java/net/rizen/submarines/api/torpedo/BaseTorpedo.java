@@ -99,6 +99,39 @@ public abstract class BaseTorpedo extends ProjectileEntity {
         collision.setOwnerSubmarine(submarine);
     }
 
+    /**
+     * Moves a torpedo that was just spawned forward by the time the firing pilot's view lags behind the server. Each
+     * step is tested against submarines where they were on the tick it stands for, so the torpedo hits what the
+     * pilot aimed at. Blocks and other entities are tested as they are now. Server side only.
+     *
+     * @param latencyMillis the pilot's round trip latency in milliseconds
+     */
+    public void compensateLag(int latencyMillis) {
+        int ticks = TorpedoCollision.getLagCompensationTicks(latencyMillis);
+        long fireTick = this.getWorld().getTime();
+
+        for (int step = 0; step < ticks && !this.isRemoved(); step++) {
+            HitResult blockHit = collision.checkBlockCollision(this.getWorld(), this, this.getVelocity());
+            if (blockHit.getType() != HitResult.Type.MISS) {
+                this.onCollision(blockHit);
+                return;
+            }
+
+            Entity entityHit = collision.checkEntityCollision(this.getWorld(), this, this.getBoundingBox(),
+                    fireTick - ticks + step);
+            if (entityHit != null) {
+                collision.handleEntityHit(this.getWorld(), this, entityHit);
+                collision.explode(this.getWorld(), this);
+                return;
+            }
+
+            Vec3d movement = this.getVelocity();
+            this.setPosition(this.getPos().add(movement));
+            physics.updateDistanceTraveled(movement);
+            ticksAlive++;
+        }
+    }
+
     @Override
     public net.minecraft.entity.EntityDimensions getDimensions(net.minecraft.entity.EntityPose pose) {
         return net.minecraft.entity.EntityDimensions.changing(width, height);
@@ -203,6 +236,20 @@ public abstract class BaseTorpedo extends ProjectileEntity {
         physics.updateRotation(this, this.getVelocity());
     }
 
+    /**
+     * Applies a movement snapshot from the server. The torpedo keeps moving along the new velocity on its own
+     * until the next one. Client side only.
+     *
+     * @param position the position at the time of the snapshot
+     * @param velocity movement per tick
+     * @param yaw the heading
+     */
+    public void applySnapshot(Vec3d position, Vec3d velocity, float yaw) {
+        this.setPosition(position);
+        this.setVelocity(velocity);
+        this.setYaw(yaw);
+    }
+
     @Override
     protected void onBlockHit(BlockHitResult blockHitResult) {
         super.onBlockHit(blockHitResult);
@@ -1,6 +1,9 @@
 package net.rizen.submarines.api.torpedo;
 
 import net.rizen.submarines.api.submarine.BaseSubmarine;
+import net.rizen.submarines.api.submarine.MovementMode;
+import net.rizen.submarines.api.submarine.OrientedBox;
+import net.rizen.submarines.config.SubmarinesConfig;
 import net.minecraft.entity.Entity;
 import net.minecraft.entity.LivingEntity;
 import net.minecraft.entity.damage.DamageSource;
@@ -15,6 +18,11 @@ import java.util.List;
 /**
  * Handles what happens when torpedoes hit things. This checks for collisions with blocks and entities, deals
  * damage, and creates explosions.
+ *
+ * <p>A torpedo fired by a player is caught up at launch by the time the server state took to reach them. Those
+ * first steps are tested against where submarines were on the matching earlier ticks, which is where the pilot saw
+ * them when firing, so a shot that looked like a hit on their screen is not lost to lag. After launch the torpedo and
+ * its targets reach the pilot with the same delay, so only current hulls are tested.</p>
  */
 public class TorpedoCollision {
     private final float explosionPower;
@@ -32,6 +40,17 @@ public class TorpedoCollision {
         }
     }
 
+    /**
+     * Works out how many ticks a new torpedo is caught up by. The pilot's latency is a round trip, but they only see
+     * the target as late as the trip from the server to them, so half of it is used.
+     *
+     * @param latencyMillis the firing pilot's round trip latency in milliseconds
+     * @return the ticks to catch up, capped by {@link SubmarinesConfig#lagCompensationMaxTicks}
+     */
+    public static int getLagCompensationTicks(int latencyMillis) {
+        return Math.clamp(Math.round(latencyMillis / 2.0f / 50.0f), 0, SubmarinesConfig.lagCompensationMaxTicks);
+    }
+
     public HitResult checkBlockCollision(World world, Entity torpedo, Vec3d velocity) {
         return world.raycast(new RaycastContext(
                 torpedo.getPos(),
@@ -42,12 +61,43 @@ public class TorpedoCollision {
         ));
     }
 
+    /**
+     * Finds an entity the torpedo is touching. Submarines are tested against their turned hull rather than their
+     * bounding box, along the whole path the torpedo covers this tick, so a torpedo passing close to the corner of
+     * a long hull's bounding box does not count as a hit and a fast one cannot skip through a narrow hull.
+     */
     public Entity checkEntityCollision(World world, Entity torpedo, Box boundingBox) {
-        List<Entity> entities = world.getOtherEntities(torpedo, boundingBox, entity -> {
-            if (entity instanceof BaseSubmarine && entity.getId() == ownerSubmarineId) {
-                return false;
+        return checkEntityCollision(world, torpedo, boundingBox, world.getTime());
+    }
+
+    /**
+     * Finds an entity the torpedo is touching, with submarines placed where they were on an earlier tick. Used while
+     * catching up a newly fired torpedo. Other entities are tested where they are now.
+     *
+     * @param world the world
+     * @param torpedo the torpedo
+     * @param boundingBox the torpedo's bounding box
+     * @param hullTick the world time to take submarine hulls from
+     * @return the entity hit, or null
+     */
+    public Entity checkEntityCollision(World world, Entity torpedo, Box boundingBox, long hullTick) {
+        Vec3d start = torpedo.getPos();
+        Vec3d end = start.add(torpedo.getVelocity());
+        Box searchBox = boundingBox.stretch(torpedo.getVelocity());
+        long rewind = world.getTime() - hullTick;
+        if (rewind > 0) {
+            searchBox = searchBox.expand(rewind * MovementMode.FLANK.getMaxSpeed());
+        }
+
+        List<Entity> entities = world.getOtherEntities(torpedo, searchBox, entity -> {
+            if (entity instanceof BaseSubmarine submarine) {
+                if (entity.getId() == ownerSubmarineId) {
+                    return false;
+                }
+                OrientedBox hull = rewind > 0 ? submarine.getHullBoxAt(hullTick) : submarine.getHullBox();
+                return hull.intersects(boundingBox) || hull.intersectsSegment(start, end);
             }
-            return entity instanceof LivingEntity || entity instanceof BaseSubmarine;
+            return entity instanceof LivingEntity && entity.getBoundingBox().intersects(boundingBox);
         });
 
         return entities.isEmpty() ? null : entities.get(0);
@@ -0,0 +1,116 @@
+package net.rizen.submarines.block;
+
+import com.mojang.serialization.MapCodec;
+import net.minecraft.block.BlockRenderType;
+import net.minecraft.block.BlockState;
+import net.minecraft.block.BlockWithEntity;
+import net.minecraft.block.entity.BlockEntity;
+import net.minecraft.entity.player.PlayerEntity;
+import net.minecraft.server.world.ServerWorld;
+import net.minecraft.text.Text;
+import net.minecraft.util.ActionResult;
+import net.minecraft.util.Formatting;
+import net.minecraft.util.hit.BlockHitResult;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.math.Box;
+import net.minecraft.util.math.Vec3d;
+import net.minecraft.world.World;
+import net.rizen.submarines.api.submarine.BaseSubmarine;
+
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * A dock that parks a submarine. Using an empty dock stores the nearest unoccupied submarine in it, and using a
+ * full dock puts the submarine back where it was docked from, charged for the time it spent on shore power.
+ * Breaking the dock releases the submarine so it is never lost.
+ */
+public class SubmarineDockBlock extends BlockWithEntity {
+    public static final MapCodec<SubmarineDockBlock> CODEC = createCodec(SubmarineDockBlock::new);
+
+    /**
+     * How far from the dock a submarine can be and still be docked.
+     */
+    private static final double DOCKING_RANGE = 8.0;
+
+    public SubmarineDockBlock(Settings settings) {
+        super(settings);
+    }
+
+    @Override
+    protected MapCodec<? extends BlockWithEntity> getCodec() {
+        return CODEC;
+    }
+
+    @Override
+    public BlockEntity createBlockEntity(BlockPos pos, BlockState state) {
+        return new SubmarineDockBlockEntity(pos, state);
+    }
+
+    @Override
+    protected BlockRenderType getRenderType(BlockState state) {
+        return BlockRenderType.MODEL;
+    }
+
+    @Override
+    protected ActionResult onUse(BlockState state, World world, BlockPos pos, PlayerEntity player, BlockHitResult hit) {
+        if (world.isClient || !(world.getBlockEntity(pos) instanceof SubmarineDockBlockEntity dock)) {
+            return ActionResult.SUCCESS;
+        }
+
+        if (dock.hasSubmarine()) {
+            release((ServerWorld) world, dock, player);
+        } else {
+            BaseSubmarine submarine = findNearestSubmarine(world, pos);
+            if (submarine != null && dock.dock(submarine)) {
+                sendStatus(player, "submarines.dock.docked", Formatting.GREEN);
+            } else {
+                sendStatus(player, "submarines.dock.no_submarine", Formatting.RED);
+            }
+        }
+        return ActionResult.SUCCESS;
+    }
+
+    @Override
+    protected void onStateReplaced(BlockState state, World world, BlockPos pos, BlockState newState, boolean moved) {
+        if (!state.isOf(newState.getBlock()) && world instanceof ServerWorld serverWorld
+                && world.getBlockEntity(pos) instanceof SubmarineDockBlockEntity dock) {
+            BaseSubmarine submarine = dock.createSubmarine(serverWorld);
+            if (submarine != null) {
+                serverWorld.spawnEntity(submarine);
+                dock.clear();
+            }
+        }
+        super.onStateReplaced(state, world, pos, newState, moved);
+    }
+
+    private void release(ServerWorld world, SubmarineDockBlockEntity dock, PlayerEntity player) {
+        BaseSubmarine submarine = dock.createSubmarine(world);
+        if (submarine == null) {
+            return;
+        }
+
+        if (!submarine.isHullClear()) {
+            sendStatus(player, "submarines.dock.blocked", Formatting.RED);
+            return;
+        }
+
+        world.spawnEntity(submarine);
+        dock.clear();
+        sendStatus(player, "submarines.dock.released", Formatting.GREEN);
+    }
+
+    private BaseSubmarine findNearestSubmarine(World world, BlockPos pos) {
+        Vec3d center = Vec3d.ofCenter(pos);
+        List<BaseSubmarine> submarines = world.getEntitiesByClass(BaseSubmarine.class,
+                new Box(pos).expand(DOCKING_RANGE), submarine -> !submarine.hasPassengers());
+
+        return submarines.stream()
+                .min(Comparator.comparingDouble(submarine -> submarine.squaredDistanceTo(center)))
+                .orElse(null);
+    }
+
+    private void sendStatus(PlayerEntity player, String key, Formatting color) {
+        player.sendMessage(Text.translatable(key).formatted(color), true);
+    }
+}
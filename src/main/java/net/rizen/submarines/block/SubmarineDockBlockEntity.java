@@ -0,0 +1,113 @@
+package net.rizen.submarines.block;
+
+import net.minecraft.block.BlockState;
+import net.minecraft.block.entity.BlockEntity;
+import net.minecraft.entity.EntityType;
+import net.minecraft.nbt.NbtCompound;
+import net.minecraft.registry.RegistryWrapper;
+import net.minecraft.server.world.ServerWorld;
+import net.minecraft.util.math.BlockPos;
+import net.rizen.submarines.Mod;
+import net.rizen.submarines.api.submarine.BaseSubmarine;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Holds a docked submarine as saved entity data. While docked the submarine is not an entity at all, so it is not
+ * ticked, tracked or collision checked, and the dock itself has no ticker.
+ *
+ * <p>Shore power is not added every tick. The dock only remembers the world time the submarine came in, and the
+ * charge for the whole stay is added in one go when it is released.</p>
+ */
+public class SubmarineDockBlockEntity extends BlockEntity {
+    /**
+     * Power restored per tick while docked, about one full charge of a tactical submarine every five minutes.
+     */
+    public static final float SHORE_POWER_PER_TICK = 100.0f / 6000.0f;
+
+    @Nullable
+    private NbtCompound storedSubmarine;
+    private long dockedAt;
+
+    public SubmarineDockBlockEntity(BlockPos pos, BlockState state) {
+        super(Mod.SUBMARINE_DOCK_BLOCK_ENTITY, pos, state);
+    }
+
+    public boolean hasSubmarine() {
+        return storedSubmarine != null;
+    }
+
+    /**
+     * Saves a submarine into this dock and removes it from the world.
+     *
+     * @param submarine the submarine to dock, which must not have passengers
+     * @return true if the submarine was docked
+     */
+    public boolean dock(BaseSubmarine submarine) {
+        if (storedSubmarine != null || submarine.hasPassengers() || this.world == null) {
+            return false;
+        }
+
+        NbtCompound nbt = new NbtCompound();
+        if (!submarine.saveSelfNbt(nbt)) {
+            return false;
+        }
+
+        storedSubmarine = nbt;
+        dockedAt = this.world.getTime();
+        submarine.discard();
+        this.markDirty();
+        return true;
+    }
+
+    /**
+     * Turns the stored submarine back into an entity at the spot it was docked from and charges it for the time
+     * it spent in the dock. The submarine is not spawned yet, so the caller can check where it will appear.
+     *
+     * @param world the world to create the submarine in
+     * @return the submarine, or null if the dock is empty or the data could not be loaded
+     */
+    @Nullable
+    public BaseSubmarine createSubmarine(ServerWorld world) {
+        if (storedSubmarine == null) {
+            return null;
+        }
+
+        BaseSubmarine submarine = EntityType.getEntityFromNbt(storedSubmarine, world)
+                .filter(BaseSubmarine.class::isInstance)
+                .map(BaseSubmarine.class::cast)
+                .orElse(null);
+        if (submarine == null) {
+            Mod.LOGGER.warn("Could not load the submarine stored in the dock at {}, dropping it", this.pos);
+            clear();
+            return null;
+        }
+
+        submarine.chargeFromShore(Math.max(0, world.getTime() - dockedAt), SHORE_POWER_PER_TICK);
+        return submarine;
+    }
+
+    /**
+     * Forgets the stored submarine. Called once the submarine from {@link #createSubmarine} is in the world.
+     */
+    public void clear() {
+        storedSubmarine = null;
+        dockedAt = 0;
+        this.markDirty();
+    }
+
+    @Override
+    protected void writeNbt(NbtCompound nbt, RegistryWrapper.WrapperLookup registryLookup) {
+        super.writeNbt(nbt, registryLookup);
+        if (storedSubmarine != null) {
+            nbt.put("Submarine", storedSubmarine);
+            nbt.putLong("DockedAt", dockedAt);
+        }
+    }
+
+    @Override
+    protected void readNbt(NbtCompound nbt, RegistryWrapper.WrapperLookup registryLookup) {
+        super.readNbt(nbt, registryLookup);
+        storedSubmarine = nbt.contains("Submarine") ? nbt.getCompound("Submarine") : null;
+        dockedAt = nbt.getLong("DockedAt");
+    }
+}
@@ -4,10 +4,14 @@ import net.rizen.submarines.Mod;
 import net.rizen.submarines.api.client.hud.SubmarineHud;
 import net.rizen.submarines.api.client.input.SubmarineInputHandler;
 import net.rizen.submarines.api.client.screen.SubmarineScreen;
+import net.rizen.submarines.client.network.ClientNetworkHandler;
 import net.rizen.submarines.client.render.TacticalSubmarineOBJRenderer;
 import net.rizen.submarines.client.render.LightweightTorpedoOBJRenderer;
 import net.rizen.submarines.client.screen.ManufacturingTableScreen;
+import net.rizen.submarines.client.sound.SubmarineMotorSound;
+import net.rizen.submarines.world.SubmarineWorldData;
 import net.fabricmc.api.ClientModInitializer;
+import net.fabricmc.fabric.api.client.event.lifecycle.v1.ClientChunkEvents;
 import net.fabricmc.fabric.api.client.rendering.v1.EntityRendererRegistry;
 import net.minecraft.client.gui.screen.ingame.HandledScreens;
 
@@ -17,8 +21,12 @@ public class ClientMod implements ClientModInitializer {
         EntityRendererRegistry.register(Mod.TACTICAL_SUBMARINE_ENTITY, TacticalSubmarineOBJRenderer::new);
         EntityRendererRegistry.register(Mod.LIGHTWEIGHT_TORPEDO_ENTITY, LightweightTorpedoOBJRenderer::new);
 
+        ClientNetworkHandler.registerReceivers();
+        ClientChunkEvents.CHUNK_LOAD.register((world, chunk) -> SubmarineWorldData.get(world).onChunkChanged(chunk.getPos()));
+        ClientChunkEvents.CHUNK_UNLOAD.register((world, chunk) -> SubmarineWorldData.get(world).onChunkChanged(chunk.getPos()));
         SubmarineInputHandler.register();
         SubmarineHud.register();
+        SubmarineMotorSound.register();
         HandledScreens.register(Mod.SUBMARINE_SCREEN_HANDLER, SubmarineScreen::new);
         HandledScreens.register(Mod.MANUFACTURING_TABLE_SCREEN_HANDLER, ManufacturingTableScreen::new);
     }
@@ -0,0 +1,106 @@
+package net.rizen.submarines.client.network;
+
+import net.fabricmc.fabric.api.client.networking.v1.ClientPlayNetworking;
+import net.minecraft.client.world.ClientWorld;
+import net.minecraft.entity.Entity;
+import net.minecraft.util.math.Vec3d;
+import net.rizen.submarines.api.network.packet.EntitySnapshotPacket;
+import net.rizen.submarines.api.network.packet.SubmarineContactsPacket;
+import net.rizen.submarines.api.network.packet.SubmarineStatePacket;
+import net.rizen.submarines.api.network.packet.SubmarineTelemetryPacket;
+import net.rizen.submarines.api.submarine.BaseSubmarine;
+import net.rizen.submarines.api.submarine.MovementMode;
+import net.rizen.submarines.api.torpedo.BaseTorpedo;
+import net.rizen.submarines.world.ContactProxy;
+import net.rizen.submarines.world.SubmarineWorldData;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class ClientNetworkHandler {
+    public static void registerReceivers() {
+        ClientPlayNetworking.registerGlobalReceiver(SubmarineTelemetryPacket.ID, (payload, context) -> {
+            if (context.client().world == null) {
+                return;
+            }
+
+            Entity entity = context.client().world.getEntityById(payload.entityId());
+            if (entity instanceof BaseSubmarine submarine) {
+                submarine.applyTelemetry(payload.power(), payload.torpedoArmingTimer(), payload.torpedoCount(), payload.speed());
+            }
+        });
+
+        ClientPlayNetworking.registerGlobalReceiver(SubmarineStatePacket.ID, (payload, context) -> {
+            if (context.client().world == null) {
+                return;
+            }
+
+            Entity entity = context.client().world.getEntityById(payload.entityId());
+            if (entity instanceof BaseSubmarine submarine) {
+                submarine.reconcile(payload);
+            }
+        });
+
+        ClientPlayNetworking.registerGlobalReceiver(EntitySnapshotPacket.ID, (payload, context) -> {
+            ClientWorld world = context.client().world;
+            if (world == null) {
+                return;
+            }
+
+            for (EntitySnapshotPacket.Snapshot snapshot : payload.snapshots()) {
+                Entity entity = world.getEntityById(snapshot.entityId());
+                if (!(entity instanceof BaseSubmarine) && !(entity instanceof BaseTorpedo)) {
+                    continue;
+                }
+
+                double step = (snapshot.flags() & EntitySnapshotPacket.FLAG_COARSE) != 0
+                        ? EntitySnapshotPacket.COARSE_STEP
+                        : EntitySnapshotPacket.FINE_STEP;
+                Vec3d pos = new Vec3d(
+                        payload.originX() + snapshot.x() * step,
+                        payload.originY() + snapshot.y() * step,
+                        payload.originZ() + snapshot.z() * step
+                );
+                Vec3d velocity = new Vec3d(
+                        snapshot.velocityX() * EntitySnapshotPacket.VELOCITY_STEP,
+                        snapshot.velocityY() * EntitySnapshotPacket.VELOCITY_STEP,
+                        snapshot.velocityZ() * EntitySnapshotPacket.VELOCITY_STEP
+                );
+                float yaw = snapshot.yaw() * 360.0f / 65536.0f;
+
+                if (entity instanceof BaseSubmarine submarine) {
+                    submarine.applySnapshot(pos, velocity, yaw);
+                } else {
+                    ((BaseTorpedo) entity).applySnapshot(pos, velocity, yaw);
+                }
+            }
+        });
+
+        ClientPlayNetworking.registerGlobalReceiver(SubmarineContactsPacket.ID, (payload, context) -> {
+            ClientWorld world = context.client().world;
+            if (world == null) {
+                return;
+            }
+
+            List<ContactProxy> proxies = new ArrayList<>(payload.contacts().size());
+            for (SubmarineContactsPacket.Contact contact : payload.contacts()) {
+                if (world.getEntityById(contact.entityId()) != null) {
+                    continue;
+                }
+
+                Vec3d pos = new Vec3d(
+                        payload.originX() + contact.offsetX() * SubmarineContactsPacket.POSITION_STEP,
+                        payload.originY() + contact.offsetY() * SubmarineContactsPacket.POSITION_STEP,
+                        payload.originZ() + contact.offsetZ() * SubmarineContactsPacket.POSITION_STEP
+                );
+                float yaw = (contact.yaw() & 0xFF) * 360.0f / 256.0f;
+                MovementMode mode = MovementMode.values()[Math.min(contact.state() & 0b11, MovementMode.values().length - 1)];
+                boolean moving = (contact.state() & 0b100) != 0;
+
+                proxies.add(new ContactProxy(contact.entityId(), pos, yaw, mode, moving));
+            }
+
+            SubmarineWorldData.get(world).getContactProxies().replace(proxies, world.getTime());
+        });
+    }
+}
@@ -275,9 +275,12 @@ public class ManufacturingTableScreen extends HandledScreen<ManufacturingTableSc
 
         if (ManufacturingRecipeRegistry.hasIngredients(this.client.player.getInventory(), selectedRecipe)) {
             craftButton.active = false;
+            // Shift-click crafts as many as the ingredients allow
+            int quantity = hasShiftDown() ? ManufacturingCraftPacket.MAX_QUANTITY : 1;
             ClientPlayNetworking.send(new ManufacturingCraftPacket(
                 selectedRecipe.getId(),
-                this.handler.getTablePos()
+                this.handler.getTablePos(),
+                quantity
             ));
         }
     }
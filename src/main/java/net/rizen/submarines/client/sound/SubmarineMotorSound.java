@@ -0,0 +1,134 @@
+package net.rizen.submarines.client.sound;
+
+import net.fabricmc.fabric.api.client.event.lifecycle.v1.ClientEntityEvents;
+import net.fabricmc.fabric.api.client.event.lifecycle.v1.ClientTickEvents;
+import net.minecraft.client.MinecraftClient;
+import net.minecraft.client.sound.MovingSoundInstance;
+import net.minecraft.client.sound.SoundInstance;
+import net.minecraft.sound.SoundCategory;
+import net.rizen.submarines.Mod;
+import net.rizen.submarines.api.submarine.BaseSubmarine;
+import net.rizen.submarines.api.submarine.MovementMode;
+
+import java.util.IdentityHashMap;
+import java.util.Map;
+
+/**
+ * Looping motor hum that follows a submarine around. Each client plays this on its own for every submarine it can
+ * see, based on the tracked movement mode and speed, so the server never sends motor sound packets.
+ *
+ * <p>The sound fades in when a submarine starts moving, fades out when it stops, and ends once it is silent.
+ * It starts again the next time the submarine moves.</p>
+ */
+public class SubmarineMotorSound extends MovingSoundInstance {
+    private static final float FADE_PER_TICK = 0.05f;
+    private static final float MOVING_SPEED_THRESHOLD = 0.001f;
+
+    private static final Map<BaseSubmarine, SubmarineMotorSound> ACTIVE_SOUNDS = new IdentityHashMap<>();
+
+    private final BaseSubmarine submarine;
+
+    private SubmarineMotorSound(BaseSubmarine submarine) {
+        super(Mod.SUBMARINE_MOTOR, SoundCategory.NEUTRAL, SoundInstance.createRandom());
+        this.submarine = submarine;
+        this.repeat = true;
+        this.repeatDelay = 0;
+        this.volume = 0.0f;
+        this.pitch = getTargetPitch(submarine);
+        this.x = submarine.getX();
+        this.y = submarine.getY();
+        this.z = submarine.getZ();
+    }
+
+    public static void register() {
+        ClientEntityEvents.ENTITY_LOAD.register((entity, world) -> {
+            if (entity instanceof BaseSubmarine submarine) {
+                ACTIVE_SOUNDS.put(submarine, null);
+            }
+        });
+
+        ClientEntityEvents.ENTITY_UNLOAD.register((entity, world) -> {
+            if (entity instanceof BaseSubmarine submarine) {
+                ACTIVE_SOUNDS.remove(submarine);
+            }
+        });
+
+        ClientTickEvents.END_CLIENT_TICK.register(SubmarineMotorSound::tickSubmarines);
+    }
+
+    private static void tickSubmarines(MinecraftClient client) {
+        if (client.world == null || ACTIVE_SOUNDS.isEmpty()) {
+            return;
+        }
+
+        for (Map.Entry<BaseSubmarine, SubmarineMotorSound> entry : ACTIVE_SOUNDS.entrySet()) {
+            SubmarineMotorSound sound = entry.getValue();
+            if ((sound == null || sound.isDone()) && isMotorRunning(entry.getKey())) {
+                sound = new SubmarineMotorSound(entry.getKey());
+                entry.setValue(sound);
+                client.getSoundManager().play(sound);
+            }
+        }
+    }
+
+    @Override
+    public boolean shouldAlwaysPlay() {
+        return true;
+    }
+
+    @Override
+    public void tick() {
+        if (submarine.isRemoved()) {
+            setDone();
+            return;
+        }
+
+        this.x = submarine.getX();
+        this.y = submarine.getY();
+        this.z = submarine.getZ();
+
+        float targetVolume = isMotorRunning(submarine) ? getTargetVolume(submarine) : 0.0f;
+        if (volume < targetVolume) {
+            volume = Math.min(targetVolume, volume + FADE_PER_TICK);
+        } else {
+            volume = Math.max(targetVolume, volume - FADE_PER_TICK);
+        }
+        pitch = getTargetPitch(submarine);
+
+        if (volume <= 0.0f) {
+            setDone();
+        }
+    }
+
+    private static boolean isMotorRunning(BaseSubmarine submarine) {
+        if (!submarine.isInWaterBlock()) {
+            return false;
+        }
+        return Math.abs(submarine.getPreciseSpeed()) > MOVING_SPEED_THRESHOLD
+                || submarine.getYaw() != submarine.prevYaw
+                || submarine.getY() != submarine.prevY;
+    }
+
+    private static float getThrottle(BaseSubmarine submarine) {
+        MovementMode mode = submarine.getMovementMode();
+        return Math.min(1.0f, Math.abs(submarine.getPreciseSpeed()) / mode.getMaxSpeed());
+    }
+
+    private static float getTargetVolume(BaseSubmarine submarine) {
+        float modeVolume = switch (submarine.getMovementMode()) {
+            case SILENT -> 0.3f;
+            case CRUISE -> 0.6f;
+            case FLANK -> 1.0f;
+        };
+        return modeVolume * (0.6f + 0.4f * getThrottle(submarine));
+    }
+
+    private static float getTargetPitch(BaseSubmarine submarine) {
+        float modePitch = switch (submarine.getMovementMode()) {
+            case SILENT -> 0.8f;
+            case CRUISE -> 1.0f;
+            case FLANK -> 1.2f;
+        };
+        return modePitch * (0.9f + 0.1f * getThrottle(submarine));
+    }
+}
@@ -0,0 +1,169 @@
+package net.rizen.submarines.config;
+
+import net.fabricmc.loader.api.FabricLoader;
+import net.rizen.submarines.Mod;
+import net.rizen.submarines.network.PacketType;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Properties;
+
+/**
+ * Server-side tuning options, loaded from {@code config/submarines.properties}. Missing or invalid entries fall back
+ * to their defaults, and the file is rewritten on load so every option is listed for server owners to edit.
+ */
+public class SubmarinesConfig {
+    private static final String FILE_NAME = "submarines.properties";
+
+    /**
+     * How often, in ticks, the pilot's HUD telemetry (power, ammo, arming timer, precise speed) is sent.
+     * Nothing is sent when the values did not change.
+     */
+    public static int telemetryIntervalTicks = 2;
+
+    /**
+     * Most chunk preload tickets that piloted submarines may hold at once across the whole server. 0 turns
+     * preloading off.
+     */
+    public static int preloadTicketCap = 256;
+
+    /**
+     * How many chunks ahead of a piloted submarine may be preloaded at most, however fast it is going.
+     */
+    public static int preloadMaxChunksAhead = 8;
+
+    /**
+     * How often, in ticks, pilots are sent the positions of distant submarines for long-range sonar.
+     */
+    public static int contactIntervalTicks = 10;
+
+    /**
+     * How far away, in blocks, other submarines are still reported to pilots for long-range sonar.
+     */
+    public static int contactRange = 256;
+
+    /**
+     * Submarines and torpedoes within this many blocks of a player are sent to them every tick.
+     */
+    public static int replicationFullRange = 32;
+
+    /**
+     * Submarines and torpedoes within this many blocks that are in front of a player are sent every
+     * {@link #replicationNearInterval} ticks. Anything further is sent every {@link #replicationFarInterval} ticks.
+     */
+    public static int replicationNearRange = 96;
+
+    public static int replicationNearInterval = 3;
+
+    public static int replicationFarInterval = 10;
+
+    /**
+     * Sends submarine and torpedo movement through the mod's snapshots. When off, vanilla tracks these entities
+     * every tick instead, which gives the tracker bytes to compare the snapshots against.
+     */
+    public static boolean replicationEnabled = true;
+
+    /**
+     * How far away, in blocks, crews of other submarines can hear a sonar ping.
+     */
+    public static int sonarPingHearingRange = 128;
+
+    /**
+     * Most ticks a newly fired torpedo is caught up by to make up for the firing pilot's latency. 0 turns lag
+     * compensation off.
+     */
+    public static int lagCompensationMaxTicks = 10;
+
+    /**
+     * How often, in seconds, a JSON line with the network stats for that period is logged. 0, the default, turns it
+     * off; {@code /submarines netstats} shows the same numbers on demand.
+     */
+    public static int netstatsLogIntervalSeconds = 0;
+
+    /**
+     * Packets each player may send per second, per {@link PacketType}, indexed by ordinal.
+     */
+    public static final int[] packetPerSecond = new int[PacketType.values().length];
+
+    /**
+     * Packets each player may send in a burst, per {@link PacketType}, indexed by ordinal.
+     */
+    public static final int[] packetBurst = new int[PacketType.values().length];
+
+    static {
+        for (PacketType type : PacketType.values()) {
+            packetPerSecond[type.ordinal()] = type.getDefaultPerSecond();
+            packetBurst[type.ordinal()] = type.getDefaultBurst();
+        }
+    }
+
+    public static void load() {
+        Path path = FabricLoader.getInstance().getConfigDir().resolve(FILE_NAME);
+        Properties properties = new Properties();
+
+        if (Files.exists(path)) {
+            try (Reader reader = Files.newBufferedReader(path)) {
+                properties.load(reader);
+            } catch (IOException e) {
+                Mod.LOGGER.warn("Failed to read {}, using defaults", FILE_NAME, e);
+            }
+        }
+
+        telemetryIntervalTicks = readInt(properties, "telemetry_interval_ticks", telemetryIntervalTicks, 1, 200);
+        preloadTicketCap = readInt(properties, "preload_ticket_cap", preloadTicketCap, 0, 4096);
+        preloadMaxChunksAhead = readInt(properties, "preload_max_chunks_ahead", preloadMaxChunksAhead, 1, 32);
+        contactIntervalTicks = readInt(properties, "contact_interval_ticks", contactIntervalTicks, 10, 20);
+        contactRange = readInt(properties, "contact_range", contactRange, 64, 1024);
+        replicationFullRange = readInt(properties, "replication_full_range", replicationFullRange, 0, 256);
+        replicationNearRange = readInt(properties, "replication_near_range", replicationNearRange, 0, 512);
+        replicationNearInterval = readInt(properties, "replication_near_interval", replicationNearInterval, 1, 20);
+        replicationFarInterval = readInt(properties, "replication_far_interval", replicationFarInterval, 1, 20);
+        replicationEnabled = readBoolean(properties, "replication_enabled", replicationEnabled);
+        sonarPingHearingRange = readInt(properties, "sonar_ping_hearing_range", sonarPingHearingRange, 16, 512);
+        lagCompensationMaxTicks = readInt(properties, "lag_compensation_max_ticks", lagCompensationMaxTicks, 0, 20);
+        netstatsLogIntervalSeconds = readInt(properties, "netstats_log_interval_seconds", netstatsLogIntervalSeconds, 0, 3600);
+        for (PacketType type : PacketType.values()) {
+            int index = type.ordinal();
+            packetPerSecond[index] = readInt(properties, "rate_limit_" + type.getName() + "_per_second", packetPerSecond[index], 1, 1000);
+            packetBurst[index] = readInt(properties, "rate_limit_" + type.getName() + "_burst", packetBurst[index], 1, 1000);
+        }
+
+        try (Writer writer = Files.newBufferedWriter(path)) {
+            properties.store(writer, "Submarines configuration");
+        } catch (IOException e) {
+            Mod.LOGGER.warn("Failed to write {}", FILE_NAME, e);
+        }
+    }
+
+    private static boolean readBoolean(Properties properties, String key, boolean defaultValue) {
+        boolean value = defaultValue;
+        String raw = properties.getProperty(key);
+        if (raw != null) {
+            String trimmed = raw.trim();
+            if (trimmed.equalsIgnoreCase("true") || trimmed.equalsIgnoreCase("false")) {
+                value = Boolean.parseBoolean(trimmed);
+            } else {
+                Mod.LOGGER.warn("Invalid value '{}' for {} in {}, using {}", raw, key, FILE_NAME, defaultValue);
+            }
+        }
+        properties.setProperty(key, Boolean.toString(value));
+        return value;
+    }
+
+    private static int readInt(Properties properties, String key, int defaultValue, int min, int max) {
+        int value = defaultValue;
+        String raw = properties.getProperty(key);
+        if (raw != null) {
+            try {
+                value = Math.max(min, Math.min(max, Integer.parseInt(raw.trim())));
+            } catch (NumberFormatException e) {
+                Mod.LOGGER.warn("Invalid value '{}' for {} in {}, using {}", raw, key, FILE_NAME, defaultValue);
+            }
+        }
+        properties.setProperty(key, Integer.toString(value));
+        return value;
+    }
+}
@@ -1,6 +1,8 @@
 package net.rizen.submarines.item;
 
 import net.rizen.submarines.entity.TacticalSubmarineEntity;
+import net.rizen.submarines.world.SubmarineWorldData;
+import net.rizen.submarines.world.WaterSurfaceCache;
 import net.minecraft.block.Blocks;
 import net.minecraft.entity.player.PlayerEntity;
 import net.minecraft.item.Item;
@@ -90,8 +92,8 @@ public class TacticalSubmarineItem extends Item {
             return false;
         }
 
-        int seaLevel = world.getSeaLevel();
-        if (pos.getY() >= seaLevel) {
+        int surfaceY = SubmarineWorldData.get(world).getWaterSurfaceCache().getSurfaceY(world, pos.getX(), pos.getZ());
+        if (surfaceY == WaterSurfaceCache.NO_WATER || pos.getY() >= surfaceY) {
             boolean waterFound = false;
             for (int y = pos.getY(); y >= pos.getY() - 3 && y >= 0; y--) {
                 if (world.getBlockState(new BlockPos(pos.getX(), y, pos.getZ())).isOf(Blocks.WATER)) {
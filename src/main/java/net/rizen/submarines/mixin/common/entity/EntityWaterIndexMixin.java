@@ -0,0 +1,40 @@
+package net.rizen.submarines.mixin.common.entity;
+
+import net.rizen.submarines.world.SubmarineWorldData;
+import net.rizen.submarines.world.WaterEntityIndex;
+import net.minecraft.entity.Entity;
+import net.minecraft.util.math.ChunkSectionPos;
+import org.spongepowered.asm.mixin.Mixin;
+import org.spongepowered.asm.mixin.Unique;
+import org.spongepowered.asm.mixin.injection.At;
+import org.spongepowered.asm.mixin.injection.Inject;
+import org.spongepowered.asm.mixin.injection.callback.CallbackInfo;
+
+@Mixin(Entity.class)
+public abstract class EntityWaterIndexMixin {
+
+    @Unique
+    private long submarines$waterSection = WaterEntityIndex.NOT_INDEXED;
+
+    @Inject(method = "baseTick", at = @At("TAIL"))
+    private void updateWaterEntityIndex(CallbackInfo ci) {
+        Entity entity = (Entity) (Object) this;
+        long section = entity.isSubmergedInWater() || entity.isTouchingWater()
+                ? ChunkSectionPos.toLong(entity.getBlockPos())
+                : WaterEntityIndex.NOT_INDEXED;
+
+        if (section != submarines$waterSection) {
+            SubmarineWorldData.get(entity.getWorld()).getWaterEntityIndex().move(entity, submarines$waterSection, section);
+            submarines$waterSection = section;
+        }
+    }
+
+    @Inject(method = "setRemoved", at = @At("HEAD"))
+    private void removeFromWaterEntityIndex(Entity.RemovalReason reason, CallbackInfo ci) {
+        if (submarines$waterSection != WaterEntityIndex.NOT_INDEXED) {
+            Entity entity = (Entity) (Object) this;
+            SubmarineWorldData.get(entity.getWorld()).getWaterEntityIndex().move(entity, submarines$waterSection, WaterEntityIndex.NOT_INDEXED);
+            submarines$waterSection = WaterEntityIndex.NOT_INDEXED;
+        }
+    }
+}
@@ -0,0 +1,71 @@
+package net.rizen.submarines.mixin.common.network;
+
+import net.minecraft.entity.Entity;
+import net.minecraft.network.packet.Packet;
+import net.minecraft.server.network.EntityTrackerEntry;
+import net.minecraft.server.network.ServerPlayerEntity;
+import net.rizen.submarines.api.submarine.BaseSubmarine;
+import net.rizen.submarines.api.torpedo.BaseTorpedo;
+import net.rizen.submarines.network.NetworkChannel;
+import net.rizen.submarines.network.NetworkStats;
+import net.rizen.submarines.world.SubmarineWorldData;
+import org.spongepowered.asm.mixin.Final;
+import org.spongepowered.asm.mixin.Mixin;
+import org.spongepowered.asm.mixin.Shadow;
+import org.spongepowered.asm.mixin.Unique;
+import org.spongepowered.asm.mixin.injection.At;
+import org.spongepowered.asm.mixin.injection.Inject;
+import org.spongepowered.asm.mixin.injection.ModifyArg;
+import org.spongepowered.asm.mixin.injection.callback.CallbackInfo;
+
+@Mixin(EntityTrackerEntry.class)
+public abstract class EntityTrackerEntryMixin {
+
+    @Shadow
+    @Final
+    private Entity entity;
+
+    @Unique
+    private int submarines$trackingPlayers = 0;
+
+    @Inject(method = "startTracking", at = @At("HEAD"))
+    private void countTrackingPlayer(ServerPlayerEntity player, CallbackInfo ci) {
+        submarines$trackingPlayers++;
+    }
+
+    @Inject(method = "stopTracking", at = @At("HEAD"))
+    private void uncountTrackingPlayer(ServerPlayerEntity player, CallbackInfo ci) {
+        submarines$trackingPlayers = Math.max(0, submarines$trackingPlayers - 1);
+    }
+
+    @ModifyArg(method = "tick", at = @At(value = "INVOKE", target = "Ljava/util/function/Consumer;accept(Ljava/lang/Object;)V"))
+    private Object countTickPacket(Object packet) {
+        submarines$record((Packet<?>) packet);
+        return packet;
+    }
+
+    @Inject(method = "sendSyncPacket", at = @At("HEAD"))
+    private void countSyncPacket(Packet<?> packet, CallbackInfo ci) {
+        submarines$record(packet);
+    }
+
+    @Unique
+    private void submarines$record(Packet<?> packet) {
+        if (submarines$trackingPlayers == 0) {
+            return;
+        }
+
+        NetworkChannel channel;
+        if (entity instanceof BaseSubmarine) {
+            channel = NetworkChannel.SUBMARINE_TRACKER;
+        } else if (entity instanceof BaseTorpedo) {
+            channel = NetworkChannel.TORPEDO_TRACKER;
+        } else {
+            return;
+        }
+
+        int bytes = NetworkStats.encodedSize(packet, entity.getWorld().getRegistryManager());
+        NetworkStats.recordTrackerPacket(channel, packet, bytes, submarines$trackingPlayers);
+        SubmarineWorldData.get(entity.getWorld()).getReplication().recordTrackerBytes(entity, bytes);
+    }
+}
@@ -0,0 +1,23 @@
+package net.rizen.submarines.mixin.common.network;
+
+import net.minecraft.entity.Entity;
+import net.minecraft.entity.EntityType;
+import net.minecraft.server.world.ServerChunkLoadingManager;
+import net.rizen.submarines.api.submarine.BaseSubmarine;
+import net.rizen.submarines.api.torpedo.BaseTorpedo;
+import net.rizen.submarines.config.SubmarinesConfig;
+import org.spongepowered.asm.mixin.Mixin;
+import org.spongepowered.asm.mixin.injection.At;
+import org.spongepowered.asm.mixin.injection.Redirect;
+
+@Mixin(ServerChunkLoadingManager.class)
+public abstract class ServerChunkLoadingManagerMixin {
+
+    @Redirect(method = "loadEntity", at = @At(value = "INVOKE", target = "Lnet/minecraft/entity/EntityType;getTrackTickInterval()I"))
+    private int trackEveryTickWithoutReplication(EntityType<?> type, Entity entity) {
+        if (!SubmarinesConfig.replicationEnabled && (entity instanceof BaseSubmarine || entity instanceof BaseTorpedo)) {
+            return 1;
+        }
+        return type.getTrackTickInterval();
+    }
+}
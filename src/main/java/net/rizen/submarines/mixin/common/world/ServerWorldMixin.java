@@ -0,0 +1,19 @@
+package net.rizen.submarines.mixin.common.world;
+
+import net.rizen.submarines.world.SubmarineWorldData;
+import net.minecraft.block.BlockState;
+import net.minecraft.server.world.ServerWorld;
+import net.minecraft.util.math.BlockPos;
+import org.spongepowered.asm.mixin.Mixin;
+import org.spongepowered.asm.mixin.injection.At;
+import org.spongepowered.asm.mixin.injection.Inject;
+import org.spongepowered.asm.mixin.injection.callback.CallbackInfo;
+
+@Mixin(ServerWorld.class)
+public abstract class ServerWorldMixin {
+
+    @Inject(method = "onBlockChanged", at = @At("HEAD"))
+    private void notifySubmarineWorldData(BlockPos pos, BlockState oldBlock, BlockState newBlock, CallbackInfo ci) {
+        SubmarineWorldData.get((ServerWorld) (Object) this).onBlockChanged(pos);
+    }
+}
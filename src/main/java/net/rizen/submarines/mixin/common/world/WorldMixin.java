@@ -0,0 +1,30 @@
+package net.rizen.submarines.mixin.common.world;
+
+import net.rizen.submarines.world.SubmarineWorldAccess;
+import net.rizen.submarines.world.SubmarineWorldData;
+import net.minecraft.block.BlockState;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.world.World;
+import org.spongepowered.asm.mixin.Mixin;
+import org.spongepowered.asm.mixin.Unique;
+import org.spongepowered.asm.mixin.injection.At;
+import org.spongepowered.asm.mixin.injection.Inject;
+import org.spongepowered.asm.mixin.injection.callback.CallbackInfo;
+
+@Mixin(World.class)
+public abstract class WorldMixin implements SubmarineWorldAccess {
+
+    @Unique
+    private final SubmarineWorldData submarines$worldData = new SubmarineWorldData();
+
+    @Override
+    public SubmarineWorldData submarines$getWorldData() {
+        return submarines$worldData;
+    }
+
+    // ServerWorld overrides onBlockChanged without calling super, so this only fires for client worlds
+    @Inject(method = "onBlockChanged", at = @At("HEAD"))
+    private void notifySubmarineWorldData(BlockPos pos, BlockState oldBlock, BlockState newBlock, CallbackInfo ci) {
+        submarines$worldData.onBlockChanged(pos);
+    }
+}
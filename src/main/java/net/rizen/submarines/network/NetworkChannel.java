@@ -0,0 +1,26 @@
+package net.rizen.submarines.network;
+
+/**
+ * The kinds of network traffic {@link NetworkStats} keeps separate counts for: one per mod payload, plus the vanilla
+ * entity tracker packets sent for submarines and torpedoes.
+ */
+public enum NetworkChannel {
+    ACTION("action"),
+    CRAFT("craft"),
+    TELEMETRY("telemetry"),
+    CONTACTS("contacts"),
+    STATE("state"),
+    SNAPSHOT("snapshot"),
+    SUBMARINE_TRACKER("submarine_tracker"),
+    TORPEDO_TRACKER("torpedo_tracker");
+
+    private final String name;
+
+    NetworkChannel(String name) {
+        this.name = name;
+    }
+
+    public String getName() {
+        return name;
+    }
+}
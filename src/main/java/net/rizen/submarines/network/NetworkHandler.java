@@ -3,104 +3,100 @@ package net.rizen.submarines.network;
 import net.rizen.submarines.Mod;
 import net.rizen.submarines.api.crafting.ManufacturingRecipe;
 import net.rizen.submarines.api.crafting.ManufacturingRecipeRegistry;
-import net.rizen.submarines.api.network.packet.SubmarineInputPacket;
-import net.rizen.submarines.api.network.packet.TorpedoFirePacket;
-import net.rizen.submarines.api.network.packet.DismountPacket;
-import net.rizen.submarines.api.network.packet.SonarPingPacket;
-import net.rizen.submarines.api.network.packet.MovementModeTogglePacket;
-import net.rizen.submarines.api.network.packet.TargetingModeTogglePacket;
-import net.rizen.submarines.api.submarine.BaseSubmarine;
+import net.rizen.submarines.api.network.packet.SubmarineActionPacket;
 import net.rizen.submarines.api.network.packet.ManufacturingCraftPacket;
+import net.rizen.submarines.api.network.packet.SubmarineTelemetryPacket;
+import net.rizen.submarines.api.network.packet.SubmarineContactsPacket;
+import net.rizen.submarines.api.network.packet.SubmarineStatePacket;
+import net.rizen.submarines.api.network.packet.EntitySnapshotPacket;
+import net.fabricmc.fabric.api.event.lifecycle.v1.ServerTickEvents;
 import net.fabricmc.fabric.api.networking.v1.PayloadTypeRegistry;
 import net.fabricmc.fabric.api.networking.v1.ServerPlayConnectionEvents;
 import net.fabricmc.fabric.api.networking.v1.ServerPlayNetworking;
 import net.minecraft.entity.player.PlayerInventory;
 import net.minecraft.item.ItemStack;
 
+import java.util.List;
+
 public class NetworkHandler {
     public static void registerPackets() {
-        PayloadTypeRegistry.playC2S().register(SubmarineInputPacket.ID, SubmarineInputPacket.CODEC);
-        PayloadTypeRegistry.playC2S().register(TorpedoFirePacket.ID, TorpedoFirePacket.CODEC);
-        PayloadTypeRegistry.playC2S().register(DismountPacket.ID, DismountPacket.CODEC);
-        PayloadTypeRegistry.playC2S().register(SonarPingPacket.ID, SonarPingPacket.CODEC);
-        PayloadTypeRegistry.playC2S().register(MovementModeTogglePacket.ID, MovementModeTogglePacket.CODEC);
-        PayloadTypeRegistry.playC2S().register(TargetingModeTogglePacket.ID, TargetingModeTogglePacket.CODEC);
-        PayloadTypeRegistry.playC2S().register(ManufacturingCraftPacket.ID, ManufacturingCraftPacket.CODEC);
-
-        ServerPlayNetworking.registerGlobalReceiver(SubmarineInputPacket.ID, (payload, context) -> {
-            SubmarinePacketHelper.withValidatedSubmarine(context, payload.entityId(), "input", submarine -> {
-                submarine.updateInput(
-                        payload.forward(),
-                        payload.backward(),
-                        payload.left(),
-                        payload.right(),
-                        payload.up(),
-                        payload.down()
-                );
-            });
-        });
-
-        ServerPlayNetworking.registerGlobalReceiver(TorpedoFirePacket.ID, (payload, context) -> {
-            SubmarinePacketHelper.withValidatedSubmarine(context, payload.submarineId(), "torpedo_fire", BaseSubmarine::fireTorpedo);
-        });
-
-        ServerPlayNetworking.registerGlobalReceiver(DismountPacket.ID, (payload, context) -> {
-            SubmarinePacketHelper.withValidatedSubmarine(context, payload.submarineId(), "dismount", submarine -> {
-                context.player().setSneaking(false);
-                context.player().stopRiding();
-            });
-        });
-
-        ServerPlayNetworking.registerGlobalReceiver(SonarPingPacket.ID, (payload, context) -> {
-            SubmarinePacketHelper.withValidatedSubmarine(context, payload.submarineId(), "sonar_ping", BaseSubmarine::performSonarPing);
-        });
-
-        ServerPlayNetworking.registerGlobalReceiver(MovementModeTogglePacket.ID, (payload, context) -> {
-            SubmarinePacketHelper.withValidatedSubmarine(context, payload.submarineId(), "mode_toggle", BaseSubmarine::cycleMovementMode);
+        PayloadTypeRegistry.playC2S().register(SubmarineActionPacket.ID,
+                NetworkStats.counting(NetworkChannel.ACTION, SubmarineActionPacket.CODEC));
+        PayloadTypeRegistry.playC2S().register(ManufacturingCraftPacket.ID,
+                NetworkStats.counting(NetworkChannel.CRAFT, ManufacturingCraftPacket.CODEC));
+
+        PayloadTypeRegistry.playS2C().register(SubmarineTelemetryPacket.ID,
+                NetworkStats.counting(NetworkChannel.TELEMETRY, SubmarineTelemetryPacket.CODEC));
+        PayloadTypeRegistry.playS2C().register(SubmarineContactsPacket.ID,
+                NetworkStats.counting(NetworkChannel.CONTACTS, SubmarineContactsPacket.CODEC));
+        PayloadTypeRegistry.playS2C().register(SubmarineStatePacket.ID,
+                NetworkStats.counting(NetworkChannel.STATE, SubmarineStatePacket.CODEC));
+        PayloadTypeRegistry.playS2C().register(EntitySnapshotPacket.ID,
+                NetworkStats.counting(NetworkChannel.SNAPSHOT, EntitySnapshotPacket.CODEC));
+
+        ServerPlayNetworking.registerGlobalReceiver(SubmarineActionPacket.ID, NetworkStats.timed(NetworkChannel.ACTION, (payload, context) -> {
+            SubmarinePacketHelper.postToSubmarine(context, payload);
+        }));
+
+        ServerPlayNetworking.registerGlobalReceiver(ManufacturingCraftPacket.ID, NetworkStats.timed(NetworkChannel.CRAFT, (payload, context) -> {
+            long currentTick = context.player().server.getTicks();
+            if (!PacketRateLimiter.tryAcquire(context.player().getUuid(), PacketType.CRAFT, currentTick)) {
+                return;
+            }
+
+            craft(payload, context);
+        }));
+
+        ServerTickEvents.END_SERVER_TICK.register(server -> NetworkStats.tick());
+        NetworkStatsCommand.register();
+
+        ServerPlayConnectionEvents.JOIN.register((handler, sender, server) -> {
+            PacketRateLimiter.onJoin(handler.player.getUuid(), server.getTicks());
         });
 
-        ServerPlayNetworking.registerGlobalReceiver(TargetingModeTogglePacket.ID, (payload, context) -> {
-            SubmarinePacketHelper.withValidatedSubmarine(context, payload.submarineId(), "mode_toggle", BaseSubmarine::cycleTargetingMode);
+        ServerPlayConnectionEvents.DISCONNECT.register((handler, server) -> {
+            PacketRateLimiter.onDisconnect(handler.player.getUuid());
+            ReplicationManager.onDisconnect(handler.player.getUuid());
         });
+    }
 
-        ServerPlayNetworking.registerGlobalReceiver(ManufacturingCraftPacket.ID, (payload, context) -> {
-            context.player().server.execute(() -> {
-                PlayerInventory inventory = context.player().getInventory();
+    private static void craft(ManufacturingCraftPacket payload, ServerPlayNetworking.Context context) {
+        PlayerInventory inventory = context.player().getInventory();
 
-                if (!context.player().getWorld().getBlockState(payload.tablePos()).isOf(Mod.MANUFACTURING_TABLE)) {
-                    return;
-                }
+        if (!context.player().getWorld().getBlockState(payload.tablePos()).isOf(Mod.MANUFACTURING_TABLE)) {
+            NetworkStats.record(NetworkChannel.CRAFT, NetworkStats.Metric.DROPPED, 1);
+            return;
+        }
 
-                double distanceSquared = context.player().squaredDistanceTo(
-                    payload.tablePos().getX() + 0.5,
-                    payload.tablePos().getY() + 0.5,
-                    payload.tablePos().getZ() + 0.5
-                );
+        double distanceSquared = context.player().squaredDistanceTo(
+            payload.tablePos().getX() + 0.5,
+            payload.tablePos().getY() + 0.5,
+            payload.tablePos().getZ() + 0.5
+        );
 
-                if (distanceSquared > 64.0) {
-                    return;
-                }
+        if (distanceSquared > 64.0) {
+            NetworkStats.record(NetworkChannel.CRAFT, NetworkStats.Metric.DROPPED, 1);
+            return;
+        }
 
-                ManufacturingRecipe recipe = ManufacturingRecipeRegistry.getRecipe(payload.recipeId());
+        ManufacturingRecipe recipe = ManufacturingRecipeRegistry.getRecipe(payload.recipeId());
 
-                if (recipe == null) {
-                    return;
-                }
+        if (recipe == null) {
+            NetworkStats.record(NetworkChannel.CRAFT, NetworkStats.Metric.DROPPED, 1);
+            return;
+        }
 
-                ItemStack result = ManufacturingRecipeRegistry.tryCraft(inventory, recipe);
+        int quantity = Math.max(1, Math.min(payload.quantity(), ManufacturingCraftPacket.MAX_QUANTITY));
+        List<ItemStack> results = ManufacturingRecipeRegistry.tryCraft(inventory, recipe, quantity);
 
-                if (!result.isEmpty()) {
-                    if (!inventory.insertStack(result)) {
-                        context.player().dropItem(result, false);
-                    }
-                    inventory.markDirty();
-                    context.player().currentScreenHandler.sendContentUpdates();
+        if (!results.isEmpty()) {
+            for (ItemStack result : results) {
+                if (!inventory.insertStack(result)) {
+                    context.player().dropItem(result, false);
                 }
-            });
-        });
-
-        ServerPlayConnectionEvents.DISCONNECT.register((handler, server) -> {
-            SubmarinePacketHelper.clearPlayerData(handler.player.getUuid());
-        });
+            }
+            inventory.markDirty();
+            context.player().currentScreenHandler.sendContentUpdates();
+        }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,250 @@
+package net.rizen.submarines.network;
+
+import com.google.gson.JsonObject;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import net.fabricmc.fabric.api.networking.v1.ServerPlayNetworking;
+import net.minecraft.network.NetworkState;
+import net.minecraft.network.RegistryByteBuf;
+import net.minecraft.network.codec.PacketCodec;
+import net.minecraft.network.encoding.VarInts;
+import net.minecraft.network.listener.ClientPlayPacketListener;
+import net.minecraft.network.packet.CustomPayload;
+import net.minecraft.network.packet.Packet;
+import net.minecraft.network.packet.s2c.play.BundleS2CPacket;
+import net.minecraft.network.state.PlayStateFactories;
+import net.minecraft.registry.DynamicRegistryManager;
+import net.rizen.submarines.Mod;
+import net.rizen.submarines.config.SubmarinesConfig;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Counts the mod's network traffic per {@link NetworkChannel}: packets, bytes, throttled and dropped packets, and
+ * time spent in handlers. Counts are added from any thread into the current second, and once a second the server
+ * thread moves them into a 60 second history, which the 1, 10 and 60 second windows are summed from.
+ *
+ * <p>Payload bytes are measured while encoding and decoding, so they are only counted for packets that actually go
+ * over a connection. Vanilla tracker packets do not go through the mod's codecs, so each one is encoded once with the
+ * play protocol's own codec to measure it, and the size is multiplied by the number of players tracking the
+ * entity.</p>
+ */
+public class NetworkStats {
+    public enum Metric {
+        PACKETS,
+        BYTES,
+        THROTTLED,
+        DROPPED,
+        HANDLER_NANOS
+    }
+
+    public static final int HISTORY_SECONDS = 60;
+
+    private static final NetworkChannel[] CHANNELS = NetworkChannel.values();
+    private static final Metric[] METRICS = Metric.values();
+    private static final int SLOTS = CHANNELS.length * METRICS.length;
+
+    /**
+     * Bytes a bundle adds around its packets: a delimiter packet on each side, each a one byte length and a one
+     * byte packet id.
+     */
+    private static final int BUNDLE_DELIMITERS_SIZE = 4;
+
+    private static final ByteBuf scratch = Unpooled.buffer();
+    @Nullable
+    private static NetworkState<ClientPlayPacketListener> playState;
+    @Nullable
+    private static DynamicRegistryManager playStateRegistries;
+
+    private static final AtomicLongArray current = new AtomicLongArray(SLOTS);
+    private static final long[][] history = new long[HISTORY_SECONDS][SLOTS];
+    private static int historyIndex = 0;
+    private static int recordedSeconds = 0;
+    private static int ticksIntoSecond = 0;
+    private static int secondsSinceLog = 0;
+
+    public static void record(NetworkChannel channel, Metric metric, long amount) {
+        current.addAndGet(slot(channel, metric), amount);
+    }
+
+    /**
+     * Wraps a payload codec so every packet it encodes or decodes is counted.
+     *
+     * @param channel the channel to count under
+     * @param codec the payload's codec
+     * @return the counting codec
+     */
+    public static <T> PacketCodec<RegistryByteBuf, T> counting(NetworkChannel channel, PacketCodec<RegistryByteBuf, T> codec) {
+        return new PacketCodec<RegistryByteBuf, T>() {
+            @Override
+            public T decode(RegistryByteBuf buf) {
+                int start = buf.readerIndex();
+                T packet = codec.decode(buf);
+                record(channel, Metric.PACKETS, 1);
+                record(channel, Metric.BYTES, buf.readerIndex() - start);
+                return packet;
+            }
+
+            @Override
+            public void encode(RegistryByteBuf buf, T packet) {
+                int start = buf.writerIndex();
+                codec.encode(buf, packet);
+                record(channel, Metric.PACKETS, 1);
+                record(channel, Metric.BYTES, buf.writerIndex() - start);
+            }
+        };
+    }
+
+    /**
+     * Wraps a payload receiver so the time spent in it is counted.
+     *
+     * @param channel the channel to count under
+     * @param handler the receiver
+     * @return the timed receiver
+     */
+    public static <T extends CustomPayload> ServerPlayNetworking.PlayPayloadHandler<T> timed(
+            NetworkChannel channel, ServerPlayNetworking.PlayPayloadHandler<T> handler) {
+        return (payload, context) -> {
+            long start = System.nanoTime();
+            try {
+                handler.receive(payload, context);
+            } finally {
+                record(channel, Metric.HANDLER_NANOS, System.nanoTime() - start);
+            }
+        };
+    }
+
+    /**
+     * Counts a vanilla tracker packet sent for one of the mod's entities.
+     *
+     * @param channel the tracker channel of the entity
+     * @param packet the packet
+     * @param bytes the packet's size from {@link #encodedSize}
+     * @param recipients how many players it goes to
+     */
+    public static void recordTrackerPacket(NetworkChannel channel, Packet<?> packet, int bytes, int recipients) {
+        int packets = 1;
+        if (packet instanceof BundleS2CPacket bundle) {
+            packets = 0;
+            for (Packet<?> inner : bundle.getPackets()) {
+                packets++;
+            }
+        }
+        record(channel, Metric.PACKETS, (long) packets * recipients);
+        record(channel, Metric.BYTES, (long) bytes * recipients);
+    }
+
+    /**
+     * Measures a vanilla play packet by encoding it the way the connection would, length prefix included but
+     * without compression. Server thread only.
+     *
+     * @param packet the packet
+     * @param registries the server's registries, which some packets need to encode
+     * @return the size in bytes
+     */
+    public static int encodedSize(Packet<?> packet, DynamicRegistryManager registries) {
+        if (packet instanceof BundleS2CPacket bundle) {
+            int size = BUNDLE_DELIMITERS_SIZE;
+            for (Packet<?> inner : bundle.getPackets()) {
+                size += encodedSize(inner, registries);
+            }
+            return size;
+        }
+
+        if (playState == null || playStateRegistries != registries) {
+            playState = PlayStateFactories.S2C.bind(RegistryByteBuf.makeFactory(registries));
+            playStateRegistries = registries;
+        }
+
+        scratch.clear();
+        encode(playState, packet);
+        int length = scratch.readableBytes();
+        return VarInts.getSizeInBytes(length) + length;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static void encode(NetworkState<ClientPlayPacketListener> state, Packet<?> packet) {
+        state.codec().encode(scratch, (Packet<? super ClientPlayPacketListener>) packet);
+    }
+
+    /**
+     * Moves the current second into the history once every 20 ticks, and writes the log line when it is due.
+     * Called at the end of every server tick.
+     */
+    public static void tick() {
+        if (++ticksIntoSecond < 20) {
+            return;
+        }
+        ticksIntoSecond = 0;
+
+        historyIndex = (historyIndex + 1) % HISTORY_SECONDS;
+        long[] bucket = history[historyIndex];
+        for (int i = 0; i < SLOTS; i++) {
+            bucket[i] = current.getAndSet(i, 0);
+        }
+        if (recordedSeconds < HISTORY_SECONDS) {
+            recordedSeconds++;
+        }
+
+        int interval = SubmarinesConfig.netstatsLogIntervalSeconds;
+        if (interval > 0 && ++secondsSinceLog >= interval) {
+            secondsSinceLog = 0;
+            Mod.LOGGER.info("netstats {}", toJson(interval));
+        }
+    }
+
+    /**
+     * Sums a metric over the last completed seconds.
+     *
+     * @param channel the channel
+     * @param metric the metric
+     * @param seconds how many seconds to look back, at most {@link #HISTORY_SECONDS}
+     * @return the total over the window
+     */
+    public static long getTotal(NetworkChannel channel, Metric metric, int seconds) {
+        int window = Math.min(Math.min(seconds, HISTORY_SECONDS), recordedSeconds);
+        int slot = slot(channel, metric);
+        long total = 0;
+        for (int i = 0; i < window; i++) {
+            total += history[Math.floorMod(historyIndex - i, HISTORY_SECONDS)][slot];
+        }
+        return total;
+    }
+
+    /**
+     * Gets how many seconds a window really covers, which is less than asked for right after the server starts.
+     *
+     * @param seconds the window asked for
+     * @return the seconds covered
+     */
+    public static int getCoveredSeconds(int seconds) {
+        return Math.min(Math.min(seconds, HISTORY_SECONDS), recordedSeconds);
+    }
+
+    /**
+     * Writes a window of every channel as one JSON object.
+     *
+     * @param seconds the window length
+     * @return the JSON object
+     */
+    public static JsonObject toJson(int seconds) {
+        JsonObject root = new JsonObject();
+        root.addProperty("window_seconds", getCoveredSeconds(seconds));
+        JsonObject channels = new JsonObject();
+        for (NetworkChannel channel : CHANNELS) {
+            JsonObject entry = new JsonObject();
+            for (Metric metric : METRICS) {
+                entry.addProperty(metric.name().toLowerCase(Locale.ROOT), getTotal(channel, metric, seconds));
+            }
+            channels.add(channel.getName(), entry);
+        }
+        root.add("channels", channels);
+        return root;
+    }
+
+    private static int slot(NetworkChannel channel, Metric metric) {
+        return channel.ordinal() * METRICS.length + metric.ordinal();
+    }
+}
@@ -0,0 +1,76 @@
+package net.rizen.submarines.network;
+
+import net.fabricmc.fabric.api.command.v2.CommandRegistrationCallback;
+import net.minecraft.server.command.CommandManager;
+import net.minecraft.server.command.ServerCommandSource;
+import net.minecraft.server.network.ServerPlayerEntity;
+import net.minecraft.text.Text;
+
+import java.util.Locale;
+
+/**
+ * The {@code /submarines netstats} operator command, which prints the {@link NetworkStats} windows for every channel
+ * that saw traffic, followed by each online player's snapshot and vanilla tracker bytes for submarines and
+ * torpedoes from the {@link ReplicationManager}.
+ */
+public class NetworkStatsCommand {
+    private static final int[] WINDOWS = {1, 10, 60};
+
+    public static void register() {
+        CommandRegistrationCallback.EVENT.register((dispatcher, registryAccess, environment) ->
+                dispatcher.register(CommandManager.literal("submarines")
+                        .requires(source -> source.hasPermissionLevel(2))
+                        .then(CommandManager.literal("netstats")
+                                .executes(context -> report(context.getSource())))));
+    }
+
+    private static int report(ServerCommandSource source) {
+        for (int window : WINDOWS) {
+            int seconds = NetworkStats.getCoveredSeconds(window);
+            if (seconds == 0) {
+                source.sendFeedback(() -> Text.literal("No network stats recorded yet"), false);
+                return 0;
+            }
+
+            source.sendFeedback(() -> Text.literal("Last " + seconds + "s:"), false);
+            for (NetworkChannel channel : NetworkChannel.values()) {
+                long packets = NetworkStats.getTotal(channel, NetworkStats.Metric.PACKETS, seconds);
+                long bytes = NetworkStats.getTotal(channel, NetworkStats.Metric.BYTES, seconds);
+                long throttled = NetworkStats.getTotal(channel, NetworkStats.Metric.THROTTLED, seconds);
+                long dropped = NetworkStats.getTotal(channel, NetworkStats.Metric.DROPPED, seconds);
+                long handlerNanos = NetworkStats.getTotal(channel, NetworkStats.Metric.HANDLER_NANOS, seconds);
+                if (packets == 0 && throttled == 0 && dropped == 0 && handlerNanos == 0) {
+                    continue;
+                }
+
+                String line = String.format(Locale.ROOT,
+                        "  %s: %.1f packets/s, %.1f bytes/s, %d throttled, %d dropped, %.3f ms/s in handlers",
+                        channel.getName(), packets / (double) seconds, bytes / (double) seconds,
+                        throttled, dropped, handlerNanos / 1_000_000.0 / seconds);
+                source.sendFeedback(() -> Text.literal(line), false);
+            }
+        }
+
+        reportPlayerBytes(source);
+        return 1;
+    }
+
+    private static void reportPlayerBytes(ServerCommandSource source) {
+        boolean first = true;
+        for (ServerPlayerEntity player : source.getServer().getPlayerManager().getPlayerList()) {
+            long snapshot = ReplicationManager.getSnapshotBytes(player.getUuid());
+            long tracker = ReplicationManager.getTrackerBytes(player.getUuid());
+            if (snapshot == 0 && tracker == 0) {
+                continue;
+            }
+            if (first) {
+                source.sendFeedback(() -> Text.literal("Submarine and torpedo movement per player:"), false);
+                first = false;
+            }
+
+            String line = String.format(Locale.ROOT, "  %s: %d snapshot + %d tracker bytes since joining",
+                    player.getName().getString(), snapshot, tracker);
+            source.sendFeedback(() -> Text.literal(line), false);
+        }
+    }
+}
@@ -0,0 +1,78 @@
+package net.rizen.submarines.network;
+
+import net.rizen.submarines.config.SubmarinesConfig;
+
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Token bucket rate limiter for client packets. Every player gets one fixed-size bucket per {@link PacketType} when
+ * they join, stored in primitive arrays, and loses them when they disconnect. Buckets refill by server ticks at the
+ * configured rate up to the configured burst, and each packet takes one token. Checking a packet does not allocate.
+ * Refused packets are counted in {@link NetworkStats} as {@link NetworkStats.Metric#THROTTLED}.
+ */
+public class PacketRateLimiter {
+    private static final PacketType[] TYPES = PacketType.values();
+    private static final float TICKS_PER_SECOND = 20.0f;
+
+    private static final Map<UUID, Buckets> buckets = new ConcurrentHashMap<>();
+
+    /**
+     * Creates the buckets for a player who just joined. They start full.
+     *
+     * @param playerId the player
+     * @param currentTick the current server tick
+     */
+    public static void onJoin(UUID playerId, long currentTick) {
+        buckets.put(playerId, new Buckets(currentTick));
+    }
+
+    public static void onDisconnect(UUID playerId) {
+        buckets.remove(playerId);
+    }
+
+    /**
+     * Takes a token for a packet if one is available. Packets from players without buckets are refused.
+     *
+     * @param playerId the sending player
+     * @param type the packet type
+     * @param currentTick the current server tick
+     * @return true if the packet may be handled
+     */
+    public static boolean tryAcquire(UUID playerId, PacketType type, long currentTick) {
+        Buckets playerBuckets = buckets.get(playerId);
+        if (playerBuckets == null || !playerBuckets.tryAcquire(type.ordinal(), currentTick)) {
+            NetworkStats.record(type.getChannel(), NetworkStats.Metric.THROTTLED, 1);
+            return false;
+        }
+        return true;
+    }
+
+    private static final class Buckets {
+        private final float[] tokens = new float[TYPES.length];
+        private final long[] lastRefillTick = new long[TYPES.length];
+
+        private Buckets(long currentTick) {
+            for (int i = 0; i < TYPES.length; i++) {
+                tokens[i] = SubmarinesConfig.packetBurst[i];
+                lastRefillTick[i] = currentTick;
+            }
+        }
+
+        private synchronized boolean tryAcquire(int index, long currentTick) {
+            long elapsed = currentTick - lastRefillTick[index];
+            if (elapsed > 0) {
+                float refill = elapsed * SubmarinesConfig.packetPerSecond[index] / TICKS_PER_SECOND;
+                tokens[index] = Math.min(SubmarinesConfig.packetBurst[index], tokens[index] + refill);
+                lastRefillTick[index] = currentTick;
+            }
+
+            if (tokens[index] < 1.0f) {
+                return false;
+            }
+            tokens[index] -= 1.0f;
+            return true;
+        }
+    }
+}
@@ -0,0 +1,46 @@
+package net.rizen.submarines.network;
+
+/**
+ * The kinds of client packets that are rate limited. Each has its own token bucket per player, with a default rate
+ * and burst size that can be changed in the config. {@link #INPUT} limits the submarine action packet itself, and
+ * the action types limit each action flag it carries.
+ */
+public enum PacketType {
+    INPUT("input", 40, 20, NetworkChannel.ACTION),
+    TORPEDO_FIRE("torpedo_fire", 2, 2, NetworkChannel.ACTION),
+    SONAR_PING("sonar_ping", 1, 1, NetworkChannel.ACTION),
+    MODE_TOGGLE("mode_toggle", 5, 2, NetworkChannel.ACTION),
+    DISMOUNT("dismount", 10, 2, NetworkChannel.ACTION),
+    CRAFT("craft", 10, 10, NetworkChannel.CRAFT);
+
+    private final String name;
+    private final int defaultPerSecond;
+    private final int defaultBurst;
+    private final NetworkChannel channel;
+
+    PacketType(String name, int defaultPerSecond, int defaultBurst, NetworkChannel channel) {
+        this.name = name;
+        this.defaultPerSecond = defaultPerSecond;
+        this.defaultBurst = defaultBurst;
+        this.channel = channel;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public int getDefaultPerSecond() {
+        return defaultPerSecond;
+    }
+
+    public int getDefaultBurst() {
+        return defaultBurst;
+    }
+
+    /**
+     * Gets the channel throttled packets of this type are counted under in {@link NetworkStats}.
+     */
+    public NetworkChannel getChannel() {
+        return channel;
+    }
+}
@@ -0,0 +1,267 @@
+package net.rizen.submarines.network;
+
+import it.unimi.dsi.fastutil.objects.Object2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.objects.Reference2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.objects.ReferenceArrayList;
+import it.unimi.dsi.fastutil.objects.ReferenceOpenHashSet;
+import net.fabricmc.fabric.api.networking.v1.ServerPlayNetworking;
+import net.minecraft.entity.Entity;
+import net.minecraft.network.encoding.VarInts;
+import net.minecraft.server.network.ServerPlayerEntity;
+import net.minecraft.server.world.ServerWorld;
+import net.minecraft.util.math.MathHelper;
+import net.minecraft.util.math.Vec3d;
+import net.rizen.submarines.Mod;
+import net.rizen.submarines.api.network.packet.EntitySnapshotPacket;
+import net.rizen.submarines.api.submarine.BaseSubmarine;
+import net.rizen.submarines.config.SubmarinesConfig;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Sends submarine and torpedo movement to each player at a rate that depends on how much they care about it.
+ * Vanilla entity tracking for these entities only runs about once a second; in between, each player gets
+ * snapshots from here:
+ *
+ * <ul>
+ *   <li>Entities within {@link SubmarinesConfig#replicationFullRange} blocks, and the submarine a player rides in,
+ *       every tick in fine steps.</li>
+ *   <li>Entities within {@link SubmarinesConfig#replicationNearRange} blocks that are roughly in front of the player
+ *       every {@link SubmarinesConfig#replicationNearInterval} ticks in fine steps.</li>
+ *   <li>Everything else every {@link SubmarinesConfig#replicationFarInterval} ticks in coarse steps.</li>
+ * </ul>
+ *
+ * <p>Snapshots only go to players the vanilla tracker has spawned the entity for, going by Fabric's entity tracking
+ * events, so a client never gets movement for an entity it does not have.</p>
+ *
+ * <p>Each player's snapshot bytes are counted next to the vanilla tracker bytes they get for the same entities, so
+ * the savings can be measured. Turning {@link SubmarinesConfig#replicationEnabled} off goes back to vanilla tracking
+ * every tick, and its tracker bytes are the baseline to compare the two against.</p>
+ *
+ * <p>Only entities that moved are sent, plus one last snapshot when they stop. A pilot never gets their own
+ * submarine from here, since it has its own state packet.</p>
+ */
+public class ReplicationManager {
+    /**
+     * Entities closer to the player's view direction than this cosine, about 60 degrees, count as in view.
+     */
+    private static final double VIEW_CONE_COS = 0.5;
+
+    private static final int HEADER_SIZE = VarInts.getSizeInBytes(
+            EntitySnapshotPacket.ID.id().toString().length()) + EntitySnapshotPacket.ID.id().toString().length();
+
+    private static final Object2ObjectOpenHashMap<UUID, long[]> byteCounters = new Object2ObjectOpenHashMap<>();
+
+    private final ReferenceOpenHashSet<Entity> movingEntities = new ReferenceOpenHashSet<>();
+    private final ReferenceArrayList<Entity> candidates = new ReferenceArrayList<>();
+    private final ReferenceOpenHashSet<Entity> stopped = new ReferenceOpenHashSet<>();
+    private final Reference2ObjectOpenHashMap<Entity, ReferenceOpenHashSet<ServerPlayerEntity>> watchers =
+            new Reference2ObjectOpenHashMap<>();
+
+    /**
+     * Sends this tick's snapshots. Called at the end of every server world tick.
+     *
+     * @param world the world
+     * @param submarines the submarines loaded in the world
+     * @param torpedoes the torpedoes loaded in the world
+     */
+    public void tick(ServerWorld world, List<? extends Entity> submarines, List<? extends Entity> torpedoes) {
+        if (!SubmarinesConfig.replicationEnabled) {
+            return;
+        }
+
+        candidates.clear();
+        stopped.clear();
+        collectCandidates(submarines);
+        collectCandidates(torpedoes);
+        if (candidates.isEmpty()) {
+            return;
+        }
+
+        long time = world.getTime();
+        for (ServerPlayerEntity player : world.getPlayers()) {
+            sendSnapshots(player, time);
+        }
+    }
+
+    /**
+     * Notes that the vanilla tracker has spawned an entity for a player, so it may be sent snapshots for it.
+     *
+     * @param entity the submarine or torpedo
+     * @param player the player now tracking it
+     */
+    public void onStartTracking(Entity entity, ServerPlayerEntity player) {
+        watchers.computeIfAbsent(entity, key -> new ReferenceOpenHashSet<>()).add(player);
+    }
+
+    /**
+     * Notes that a player no longer tracks an entity.
+     *
+     * @param entity the submarine or torpedo
+     * @param player the player that stopped tracking it
+     */
+    public void onStopTracking(Entity entity, ServerPlayerEntity player) {
+        ReferenceOpenHashSet<ServerPlayerEntity> players = watchers.get(entity);
+        if (players != null && players.remove(player) && players.isEmpty()) {
+            watchers.remove(entity);
+        }
+    }
+
+    /**
+     * Counts a vanilla tracker packet for an entity against every player tracking it.
+     *
+     * @param entity the submarine or torpedo
+     * @param bytes the packet's encoded size
+     */
+    public void recordTrackerBytes(Entity entity, int bytes) {
+        ReferenceOpenHashSet<ServerPlayerEntity> players = watchers.get(entity);
+        if (players == null) {
+            return;
+        }
+        for (ServerPlayerEntity player : players) {
+            byteCounters.computeIfAbsent(player.getUuid(), uuid -> new long[2])[1] += bytes;
+        }
+    }
+
+    /**
+     * Forgets an entity that was unloaded.
+     *
+     * @param entity the entity
+     */
+    public void onEntityUnloaded(Entity entity) {
+        movingEntities.remove(entity);
+        watchers.remove(entity);
+    }
+
+    /**
+     * Gets how many snapshot bytes a player has been sent since joining.
+     *
+     * @param uuid the player's UUID
+     * @return the bytes sent
+     */
+    public static long getSnapshotBytes(UUID uuid) {
+        long[] counters = byteCounters.get(uuid);
+        return counters == null ? 0 : counters[0];
+    }
+
+    /**
+     * Gets how many vanilla tracker bytes a player has been sent for submarines and torpedoes since joining,
+     * measured from the encoded packets.
+     *
+     * @param uuid the player's UUID
+     * @return the bytes sent
+     */
+    public static long getTrackerBytes(UUID uuid) {
+        long[] counters = byteCounters.get(uuid);
+        return counters == null ? 0 : counters[1];
+    }
+
+    /**
+     * Drops a player's byte counters when they leave, logging their totals.
+     *
+     * @param uuid the player's UUID
+     */
+    public static void onDisconnect(UUID uuid) {
+        long[] counters = byteCounters.remove(uuid);
+        if (counters != null) {
+            Mod.LOGGER.info("Sent {} snapshot and {} tracker bytes for submarines and torpedoes to {}",
+                    counters[0], counters[1], uuid);
+        }
+    }
+
+    private void collectCandidates(List<? extends Entity> entities) {
+        for (Entity entity : entities) {
+            boolean moving = entity.getX() != entity.prevX || entity.getY() != entity.prevY
+                    || entity.getZ() != entity.prevZ || entity.getYaw() != entity.prevYaw;
+            if (moving) {
+                movingEntities.add(entity);
+                candidates.add(entity);
+            } else if (movingEntities.remove(entity)) {
+                stopped.add(entity);
+                candidates.add(entity);
+            }
+        }
+    }
+
+    private void sendSnapshots(ServerPlayerEntity player, long time) {
+        int originX = MathHelper.floor(player.getX());
+        int originY = MathHelper.floor(player.getY());
+        int originZ = MathHelper.floor(player.getZ());
+
+        double fullRangeSquared = (double) SubmarinesConfig.replicationFullRange * SubmarinesConfig.replicationFullRange;
+        double nearRangeSquared = (double) SubmarinesConfig.replicationNearRange * SubmarinesConfig.replicationNearRange;
+        Vec3d look = player.getRotationVec(1.0f);
+
+        List<EntitySnapshotPacket.Snapshot> snapshots = null;
+        int bytes = 0;
+
+        for (Entity entity : candidates) {
+            if (entity instanceof BaseSubmarine submarine && submarine.getFirstPassenger() == player) {
+                continue;
+            }
+
+            ReferenceOpenHashSet<ServerPlayerEntity> players = watchers.get(entity);
+            if (players == null || !players.contains(player)) {
+                continue;
+            }
+
+            double distanceSquared = player.squaredDistanceTo(entity);
+
+            boolean coarse = false;
+            int interval = 1;
+            if (distanceSquared > fullRangeSquared && player.getVehicle() != entity) {
+                if (distanceSquared <= nearRangeSquared && isInView(player, look, entity)) {
+                    interval = SubmarinesConfig.replicationNearInterval;
+                } else {
+                    interval = SubmarinesConfig.replicationFarInterval;
+                    coarse = true;
+                }
+            }
+
+            if (!stopped.contains(entity) && (time + entity.getId()) % interval != 0) {
+                continue;
+            }
+
+            if (snapshots == null) {
+                snapshots = new ArrayList<>();
+            }
+            snapshots.add(createSnapshot(entity, originX, originY, originZ, coarse));
+            bytes += VarInts.getSizeInBytes(entity.getId()) + EntitySnapshotPacket.Snapshot.FIXED_SIZE;
+        }
+
+        if (snapshots == null) {
+            return;
+        }
+
+        int overhead = HEADER_SIZE + VarInts.getSizeInBytes(originX) + VarInts.getSizeInBytes(originY)
+                + VarInts.getSizeInBytes(originZ) + VarInts.getSizeInBytes(snapshots.size());
+        byteCounters.computeIfAbsent(player.getUuid(), uuid -> new long[2])[0] += bytes + overhead;
+        ServerPlayNetworking.send(player, new EntitySnapshotPacket(originX, originY, originZ, snapshots));
+    }
+
+    private static boolean isInView(ServerPlayerEntity player, Vec3d look, Entity entity) {
+        Vec3d toEntity = entity.getPos().subtract(player.getEyePos()).normalize();
+        return toEntity.dotProduct(look) >= VIEW_CONE_COS;
+    }
+
+    private static EntitySnapshotPacket.Snapshot createSnapshot(Entity entity, int originX, int originY, int originZ, boolean coarse) {
+        double step = coarse ? EntitySnapshotPacket.COARSE_STEP : EntitySnapshotPacket.FINE_STEP;
+        return new EntitySnapshotPacket.Snapshot(
+                entity.getId(),
+                (byte) (coarse ? EntitySnapshotPacket.FLAG_COARSE : 0),
+                quantize((entity.getX() - originX) / step),
+                quantize((entity.getY() - originY) / step),
+                quantize((entity.getZ() - originZ) / step),
+                quantize((entity.getX() - entity.prevX) / EntitySnapshotPacket.VELOCITY_STEP),
+                quantize((entity.getY() - entity.prevY) / EntitySnapshotPacket.VELOCITY_STEP),
+                quantize((entity.getZ() - entity.prevZ) / EntitySnapshotPacket.VELOCITY_STEP),
+                (short) MathHelper.floor(MathHelper.wrapDegrees(entity.getYaw()) * 65536.0f / 360.0f)
+        );
+    }
+
+    private static short quantize(double value) {
+        return (short) MathHelper.clamp(Math.round(value), Short.MIN_VALUE, Short.MAX_VALUE);
+    }
+}
@@ -1,77 +1,65 @@
 package net.rizen.submarines.network;
 
 import net.fabricmc.fabric.api.networking.v1.ServerPlayNetworking;
-import net.minecraft.entity.Entity;
+import net.minecraft.server.network.ServerPlayerEntity;
+import net.rizen.submarines.api.network.packet.SubmarineActionPacket;
 import net.rizen.submarines.api.submarine.BaseSubmarine;
-
-import java.util.Map;
-import java.util.UUID;
-import java.util.concurrent.ConcurrentHashMap;
-import java.util.function.Consumer;
+import net.rizen.submarines.api.submarine.SubmarineMailbox;
 
 public class SubmarinePacketHelper {
-    private static final Map<UUID, Map<String, Long>> lastPacketTimes = new ConcurrentHashMap<>();
-
-    private static final long DEFAULT_COOLDOWN_MS = 50;
-
-    private static final Map<String, Long> PACKET_COOLDOWNS = Map.of(
-        "input", 50L,
-        "torpedo_fire", 500L,
-        "sonar_ping", 1000L,
-        "mode_toggle", 200L,
-        "dismount", 100L
-    );
-
-    public static void withValidatedSubmarine(
-            ServerPlayNetworking.Context context,
-            int entityId,
-            String packetType,
-            Consumer<BaseSubmarine> action
-    ) {
-        UUID playerId = context.player().getUuid();
-
-        if (!checkCooldown(playerId, packetType)) {
+    /**
+     * Posts a {@link SubmarineActionPacket} to the sender's submarine mailbox. Nothing is applied here: the
+     * submarine picks up the newest input once at the start of its next tick and checks the sender is still aboard
+     * before running their actions.
+     *
+     * @param context the networking context
+     * @param packet the packet
+     */
+    public static void postToSubmarine(ServerPlayNetworking.Context context, SubmarineActionPacket packet) {
+        ServerPlayerEntity player = context.player();
+        long currentTick = player.server.getTicks();
+        if (!PacketRateLimiter.tryAcquire(player.getUuid(), PacketType.INPUT, currentTick)) {
             return;
         }
 
-        context.player().server.execute(() -> {
-            Entity entity = context.player().getWorld().getEntityById(entityId);
-            if (entity instanceof BaseSubmarine submarine) {
-                if (submarine.getPassengerList().contains(context.player())) {
-                    action.accept(submarine);
-                }
-            }
-        });
-    }
-
-    private static boolean checkCooldown(UUID playerId, String packetType) {
-        long currentTime = System.currentTimeMillis();
-        long cooldown = PACKET_COOLDOWNS.getOrDefault(packetType, DEFAULT_COOLDOWN_MS);
-
-        Map<String, Long> playerPacketTimes = lastPacketTimes.computeIfAbsent(playerId, k -> new ConcurrentHashMap<>());
-
-        Long lastTime = playerPacketTimes.get(packetType);
-        if (lastTime != null && currentTime - lastTime < cooldown) {
-            return false;
+        if (!(player.getVehicle() instanceof BaseSubmarine submarine) || submarine.getId() != packet.entityId()) {
+            NetworkStats.record(NetworkChannel.ACTION, NetworkStats.Metric.DROPPED, 1);
+            return;
         }
 
-        playerPacketTimes.put(packetType, currentTime);
-
-        if (Math.random() < 0.001) {
-            cleanup(currentTime);
+        SubmarineMailbox mailbox = submarine.getMailbox();
+        mailbox.postInput(packet.sequence(), packet.inputs());
+        if (packet.actions() != 0) {
+            int actions = filterActions(player, packet.actions());
+            if (actions != 0 && !mailbox.postActions(player, actions)) {
+                NetworkStats.record(NetworkChannel.ACTION, NetworkStats.Metric.DROPPED, 1);
+            }
         }
-
-        return true;
     }
 
-    private static void cleanup(long currentTime) {
-        lastPacketTimes.values().forEach(playerTimes ->
-            playerTimes.entrySet().removeIf(entry -> currentTime - entry.getValue() > 5000)
-        );
-        lastPacketTimes.entrySet().removeIf(entry -> entry.getValue().isEmpty());
+    /**
+     * Drops the actions in a {@link SubmarineActionPacket} that the player is sending too often. Each action uses
+     * its own rate limit bucket, so a throttled torpedo does not also block a mode toggle in the same packet.
+     *
+     * @param player the player who sent the packet
+     * @param actions the action flags from the packet
+     * @return the action flags that may go ahead
+     */
+    public static int filterActions(ServerPlayerEntity player, int actions) {
+        long currentTick = player.server.getTicks();
+        int allowed = 0;
+        allowed |= filter(player, actions, SubmarineActionPacket.FIRE_TORPEDO, PacketType.TORPEDO_FIRE, currentTick);
+        allowed |= filter(player, actions, SubmarineActionPacket.SONAR_PING, PacketType.SONAR_PING, currentTick);
+        allowed |= filter(player, actions, SubmarineActionPacket.CYCLE_MOVEMENT_MODE, PacketType.MODE_TOGGLE, currentTick);
+        allowed |= filter(player, actions, SubmarineActionPacket.CYCLE_TARGETING_MODE, PacketType.MODE_TOGGLE, currentTick);
+        allowed |= filter(player, actions, SubmarineActionPacket.DISMOUNT, PacketType.DISMOUNT, currentTick);
+        return allowed;
     }
 
-    public static void clearPlayerData(UUID playerId) {
-        lastPacketTimes.remove(playerId);
+    private static int filter(ServerPlayerEntity player, int actions, int action, PacketType packetType, long currentTick) {
+        if ((actions & action) == 0 || !PacketRateLimiter.tryAcquire(player.getUuid(), packetType, currentTick)) {
+            return 0;
+        }
+        return action;
     }
 }
@@ -0,0 +1,154 @@
+package net.rizen.submarines.world;
+
+import it.unimi.dsi.fastutil.longs.LongIterator;
+import it.unimi.dsi.fastutil.longs.LongOpenHashSet;
+import net.minecraft.server.world.ChunkTicketType;
+import net.minecraft.server.world.ServerChunkManager;
+import net.minecraft.server.world.ServerWorld;
+import net.minecraft.util.math.ChunkPos;
+import net.minecraft.util.math.MathHelper;
+import net.rizen.submarines.api.submarine.BaseSubmarine;
+import net.rizen.submarines.api.submarine.MovementMode;
+import net.rizen.submarines.config.SubmarinesConfig;
+
+import java.util.Comparator;
+
+/**
+ * Loads chunks ahead of a piloted submarine before it gets there, so the chunk system can load or generate them in
+ * the background instead of the server waiting on them when the submarine arrives.
+ *
+ * <p>Every few ticks the preloader works out a three chunk wide corridor along the submarine's heading. Its length
+ * is how far the submarine would travel in a few seconds at its current speed, with faster movement modes looking
+ * further ahead, and is capped by {@link SubmarinesConfig#preloadMaxChunksAhead}. Chunks entering the corridor get a
+ * ticket and chunks leaving it, for example because the submarine turned, lose theirs. All submarines together share
+ * the budget set by {@link SubmarinesConfig#preloadTicketCap}.</p>
+ *
+ * <p>Tickets expire on their own a little after the last refresh, so a submarine that stops updating can never keep
+ * chunks loaded for long.</p>
+ */
+public class ChunkPreloader {
+    private static final int UPDATE_INTERVAL = 10;
+    private static final int TICKET_EXPIRY_TICKS = UPDATE_INTERVAL * 4;
+
+    /**
+     * Ticks of travel to look ahead at {@link MovementMode#SILENT}. Faster modes multiply this.
+     */
+    private static final double BASE_LOOKAHEAD_TICKS = 100.0;
+    private static final double SAMPLE_STEP = 8.0;
+    private static final float MIN_SPEED = 0.01f;
+
+    public static final ChunkTicketType<ChunkPos> SUBMARINE_PRELOAD =
+            ChunkTicketType.create("submarine_preload", Comparator.comparingLong(ChunkPos::toLong), TICKET_EXPIRY_TICKS);
+
+    private static int activeTickets = 0;
+
+    private final LongOpenHashSet heldChunks = new LongOpenHashSet();
+    private final LongOpenHashSet wantedChunks = new LongOpenHashSet();
+
+    /**
+     * Updates the preloaded corridor. Called every tick while the submarine has a pilot.
+     *
+     * @param world the world the submarine is in
+     * @param submarine the submarine
+     * @param signedSpeed current speed, negative when going backwards
+     */
+    public void tick(ServerWorld world, BaseSubmarine submarine, float signedSpeed) {
+        if (submarine.age % UPDATE_INTERVAL != 0) {
+            return;
+        }
+
+        collectCorridor(submarine, signedSpeed);
+
+        ServerChunkManager chunkManager = world.getChunkManager();
+        LongIterator iterator = heldChunks.iterator();
+        while (iterator.hasNext()) {
+            long chunk = iterator.nextLong();
+            if (!wantedChunks.contains(chunk)) {
+                chunkManager.removeTicket(SUBMARINE_PRELOAD, new ChunkPos(chunk), 0, new ChunkPos(chunk));
+                iterator.remove();
+                activeTickets--;
+            }
+        }
+
+        LongIterator wanted = wantedChunks.iterator();
+        while (wanted.hasNext()) {
+            long chunk = wanted.nextLong();
+            boolean held = heldChunks.contains(chunk);
+            if (!held && activeTickets >= SubmarinesConfig.preloadTicketCap) {
+                continue;
+            }
+
+            ChunkPos pos = new ChunkPos(chunk);
+            chunkManager.addTicket(SUBMARINE_PRELOAD, pos, 0, pos);
+            if (!held) {
+                heldChunks.add(chunk);
+                activeTickets++;
+            }
+        }
+    }
+
+    /**
+     * Drops every ticket this submarine holds. Called when the pilot leaves or the submarine is removed.
+     *
+     * @param world the world the submarine is in
+     */
+    public void releaseAll(ServerWorld world) {
+        if (heldChunks.isEmpty()) {
+            return;
+        }
+
+        ServerChunkManager chunkManager = world.getChunkManager();
+        LongIterator iterator = heldChunks.iterator();
+        while (iterator.hasNext()) {
+            ChunkPos pos = new ChunkPos(iterator.nextLong());
+            chunkManager.removeTicket(SUBMARINE_PRELOAD, pos, 0, pos);
+        }
+        activeTickets -= heldChunks.size();
+        heldChunks.clear();
+    }
+
+    /**
+     * Forgets the shared ticket count. Called when the server stops, since the chunk tickets go away with it.
+     */
+    public static void resetTicketCount() {
+        activeTickets = 0;
+    }
+
+    private void collectCorridor(BaseSubmarine submarine, float signedSpeed) {
+        wantedChunks.clear();
+
+        float speed = Math.abs(signedSpeed);
+        if (speed < MIN_SPEED) {
+            return;
+        }
+
+        double maxDistance = SubmarinesConfig.preloadMaxChunksAhead * 16.0;
+        double distance = Math.min(speed * BASE_LOOKAHEAD_TICKS * getLookaheadScale(submarine.getMovementMode()), maxDistance);
+
+        double yawRad = Math.toRadians(submarine.getYaw());
+        double dirX = -Math.sin(yawRad);
+        double dirZ = Math.cos(yawRad);
+        if (signedSpeed < 0) {
+            dirX = -dirX;
+            dirZ = -dirZ;
+        }
+
+        for (double step = SAMPLE_STEP; step <= distance; step += SAMPLE_STEP) {
+            double x = submarine.getX() + dirX * step;
+            double z = submarine.getZ() + dirZ * step;
+            for (int side = -1; side <= 1; side++) {
+                int chunkX = MathHelper.floor(x + dirZ * 16.0 * side) >> 4;
+                int chunkZ = MathHelper.floor(z - dirX * 16.0 * side) >> 4;
+                wantedChunks.add(ChunkPos.toLong(chunkX, chunkZ));
+            }
+        }
+    }
+
+    private static double getLookaheadScale(MovementMode mode) {
+        return switch (mode) {
+            case SILENT -> 1.0;
+            case CRUISE -> 1.5;
+            case FLANK -> 2.0;
+        };
+    }
+}
@@ -0,0 +1,16 @@
+package net.rizen.submarines.world;
+
+import net.minecraft.util.math.Vec3d;
+import net.rizen.submarines.api.submarine.MovementMode;
+
+/**
+ * A distant submarine known to the client only through contact updates, not as an entity.
+ *
+ * @param entityId the submarine's entity id on the server
+ * @param pos rough position
+ * @param yaw rough heading in degrees
+ * @param mode movement mode
+ * @param moving whether it was moving when the update was sent
+ */
+public record ContactProxy(int entityId, Vec3d pos, float yaw, MovementMode mode, boolean moving) {
+}
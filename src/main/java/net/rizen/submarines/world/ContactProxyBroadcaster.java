@@ -0,0 +1,84 @@
+package net.rizen.submarines.world;
+
+import net.fabricmc.fabric.api.networking.v1.ServerPlayNetworking;
+import net.minecraft.server.network.ServerPlayerEntity;
+import net.minecraft.util.math.MathHelper;
+import net.rizen.submarines.api.network.packet.SubmarineContactsPacket;
+import net.rizen.submarines.api.submarine.BaseSubmarine;
+import net.rizen.submarines.config.SubmarinesConfig;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Sends a pilot the other submarines that are beyond entity tracking range but within long-range sonar range.
+ * This runs a few times a second instead of every tick and sends quantized positions, so long-range contacts cost a
+ * small fraction of full entity tracking and nothing is spawned on the client.
+ */
+public class ContactProxyBroadcaster {
+    /**
+     * Submarines closer than this are tracked as entities and left out.
+     */
+    public static final double NEAR_RANGE = 64.0;
+
+    private boolean sentEmpty = false;
+
+    /**
+     * Sends the contact list if it is time to. Called every tick while the submarine has a player pilot.
+     *
+     * @param submarine the pilot's submarine
+     * @param pilot the pilot
+     */
+    public void tick(BaseSubmarine submarine, ServerPlayerEntity pilot) {
+        if ((submarine.age + submarine.getId()) % SubmarinesConfig.contactIntervalTicks != 0) {
+            return;
+        }
+
+        int originX = MathHelper.floor(submarine.getX());
+        int originY = MathHelper.floor(submarine.getY());
+        int originZ = MathHelper.floor(submarine.getZ());
+
+        double nearSquared = NEAR_RANGE * NEAR_RANGE;
+        double farSquared = (double) SubmarinesConfig.contactRange * SubmarinesConfig.contactRange;
+
+        List<SubmarineContactsPacket.Contact> contacts = new ArrayList<>();
+        for (BaseSubmarine other : SubmarineWorldData.get(submarine.getWorld()).getSubmarines()) {
+            if (other == submarine) {
+                continue;
+            }
+
+            double distanceSquared = other.squaredDistanceTo(submarine);
+            if (distanceSquared <= nearSquared || distanceSquared > farSquared) {
+                continue;
+            }
+
+            int state = other.getMovementMode().ordinal() | (other.getSpeed() != 0.0f ? 0b100 : 0);
+            contacts.add(new SubmarineContactsPacket.Contact(
+                    other.getId(),
+                    quantize(other.getX() - originX),
+                    quantize(other.getY() - originY),
+                    quantize(other.getZ() - originZ),
+                    (byte) MathHelper.floor(other.getYaw() * 256.0f / 360.0f),
+                    (byte) state
+            ));
+        }
+
+        if (contacts.isEmpty() && sentEmpty) {
+            return;
+        }
+        sentEmpty = contacts.isEmpty();
+
+        ServerPlayNetworking.send(pilot, new SubmarineContactsPacket(originX, originY, originZ, contacts));
+    }
+
+    /**
+     * Makes the next update go out even if it is empty. Called when the pilot changes.
+     */
+    public void reset() {
+        sentEmpty = false;
+    }
+
+    private static short quantize(double offset) {
+        return (short) MathHelper.clamp(Math.round(offset / SubmarineContactsPacket.POSITION_STEP), Short.MIN_VALUE, Short.MAX_VALUE);
+    }
+}
@@ -0,0 +1,39 @@
+package net.rizen.submarines.world;
+
+import it.unimi.dsi.fastutil.objects.ReferenceArrayList;
+
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * The distant submarines last reported to this client. Every update replaces the whole list, and the list is
+ * ignored once it is old enough that the server must have stopped sending, for example after the pilot left the
+ * submarine.
+ */
+public class ContactProxyCache {
+    private static final long EXPIRY_TICKS = 60;
+
+    private final ReferenceArrayList<ContactProxy> proxies = new ReferenceArrayList<>();
+    private long receivedTick;
+
+    public void replace(List<ContactProxy> contacts, long currentTick) {
+        proxies.clear();
+        proxies.addAll(contacts);
+        receivedTick = currentTick;
+    }
+
+    /**
+     * Visits every known distant submarine, unless the list has expired.
+     *
+     * @param currentTick the current world time
+     * @param consumer called for each contact
+     */
+    public void forEach(long currentTick, Consumer<ContactProxy> consumer) {
+        if (currentTick - receivedTick > EXPIRY_TICKS) {
+            return;
+        }
+        for (int i = 0; i < proxies.size(); i++) {
+            consumer.accept(proxies.get(i));
+        }
+    }
+}
@@ -0,0 +1,97 @@
+package net.rizen.submarines.world;
+
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.objects.Reference2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.objects.ReferenceArrayList;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.math.Box;
+import net.minecraft.util.math.ChunkPos;
+import net.minecraft.util.math.ChunkSectionPos;
+import net.minecraft.util.math.MathHelper;
+import net.rizen.submarines.api.submarine.BaseSubmarine;
+
+import java.util.List;
+
+/**
+ * Keeps track of dormant submarines by the chunks they touch, so a block change can find the submarines next to it
+ * without looking at every entity. A dormant submarine is woken up when a block inside or right next to its hull
+ * changes, since that might mean the water around it was drained or the block holding it up was broken.
+ */
+public class DormantSubmarineTracker {
+    private static final double NEIGHBOR_MARGIN = 1.0;
+
+    private final Long2ObjectOpenHashMap<ReferenceArrayList<BaseSubmarine>> byChunk = new Long2ObjectOpenHashMap<>();
+    private final Reference2ObjectOpenHashMap<BaseSubmarine, long[]> registeredChunks = new Reference2ObjectOpenHashMap<>();
+    private final ReferenceArrayList<BaseSubmarine> toWake = new ReferenceArrayList<>();
+
+    public void add(BaseSubmarine submarine) {
+        if (registeredChunks.containsKey(submarine)) {
+            return;
+        }
+
+        Box box = submarine.getBoundingBox().expand(NEIGHBOR_MARGIN);
+        int minChunkX = ChunkSectionPos.getSectionCoord(MathHelper.floor(box.minX));
+        int maxChunkX = ChunkSectionPos.getSectionCoord(MathHelper.floor(box.maxX));
+        int minChunkZ = ChunkSectionPos.getSectionCoord(MathHelper.floor(box.minZ));
+        int maxChunkZ = ChunkSectionPos.getSectionCoord(MathHelper.floor(box.maxZ));
+
+        long[] chunks = new long[(maxChunkX - minChunkX + 1) * (maxChunkZ - minChunkZ + 1)];
+        int index = 0;
+        for (int chunkX = minChunkX; chunkX <= maxChunkX; chunkX++) {
+            for (int chunkZ = minChunkZ; chunkZ <= maxChunkZ; chunkZ++) {
+                long key = ChunkPos.toLong(chunkX, chunkZ);
+                byChunk.computeIfAbsent(key, k -> new ReferenceArrayList<>()).add(submarine);
+                chunks[index++] = key;
+            }
+        }
+        registeredChunks.put(submarine, chunks);
+    }
+
+    public void remove(BaseSubmarine submarine) {
+        long[] chunks = registeredChunks.remove(submarine);
+        if (chunks == null) {
+            return;
+        }
+
+        for (long key : chunks) {
+            List<BaseSubmarine> submarines = byChunk.get(key);
+            if (submarines != null) {
+                submarines.remove(submarine);
+                if (submarines.isEmpty()) {
+                    byChunk.remove(key);
+                }
+            }
+        }
+    }
+
+    /**
+     * Wakes every dormant submarine whose hull is in or next to the changed block.
+     *
+     * @param pos the block that changed
+     */
+    public void onBlockChanged(BlockPos pos) {
+        if (byChunk.isEmpty()) {
+            return;
+        }
+
+        List<BaseSubmarine> submarines = byChunk.get(ChunkPos.toLong(pos.getX() >> 4, pos.getZ() >> 4));
+        if (submarines == null) {
+            return;
+        }
+
+        for (BaseSubmarine submarine : submarines) {
+            Box box = submarine.getBoundingBox();
+            if (pos.getX() + 1 >= box.minX - NEIGHBOR_MARGIN && pos.getX() <= box.maxX + NEIGHBOR_MARGIN
+                    && pos.getY() + 1 >= box.minY - NEIGHBOR_MARGIN && pos.getY() <= box.maxY + NEIGHBOR_MARGIN
+                    && pos.getZ() + 1 >= box.minZ - NEIGHBOR_MARGIN && pos.getZ() <= box.maxZ + NEIGHBOR_MARGIN) {
+                toWake.add(submarine);
+            }
+        }
+
+        // Waking removes the submarine from the lists above, so do it after the loop
+        for (BaseSubmarine submarine : toWake) {
+            submarine.wakeUp();
+        }
+        toWake.clear();
+    }
+}
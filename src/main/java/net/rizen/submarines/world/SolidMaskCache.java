@@ -0,0 +1,105 @@
+package net.rizen.submarines.world;
+
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import net.minecraft.block.BlockState;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.math.ChunkPos;
+import net.minecraft.world.World;
+import net.minecraft.world.chunk.ChunkSection;
+
+/**
+ * Cache of which blocks have a collision shape, stored as one 4096-bit mask per chunk section. A section's mask is
+ * built the first time a hull needs it and thrown away when a block in that section changes or the chunk is loaded
+ * or unloaded. Any block with a collision shape counts as a full solid voxel, which is close enough for a hull
+ * several blocks long and turns each block test into a bit lookup.
+ */
+public class SolidMaskCache {
+    private static final long[] EMPTY_SECTION = new long[64];
+
+    private final Long2ObjectOpenHashMap<long[][]> chunks = new Long2ObjectOpenHashMap<>();
+    private final BlockPos.Mutable scanPos = new BlockPos.Mutable();
+    private int bottomSectionCoord;
+
+    /**
+     * Checks whether a block blocks hulls. Blocks in chunks that are not loaded count as solid, so a submarine
+     * never moves into terrain that has not been checked. Blocks above or below the world do not.
+     *
+     * @param world the world the block is in
+     * @param x block X
+     * @param y block Y
+     * @param z block Z
+     * @return true if the block has a collision shape
+     */
+    public boolean isSolid(World world, int x, int y, int z) {
+        if (y < world.getBottomY() || y >= world.getTopY()) {
+            return false;
+        }
+
+        int chunkX = x >> 4;
+        int chunkZ = z >> 4;
+        long key = ChunkPos.toLong(chunkX, chunkZ);
+        long[][] sections = chunks.get(key);
+        if (sections == null) {
+            if (!world.isChunkLoaded(chunkX, chunkZ)) {
+                return true;
+            }
+            bottomSectionCoord = world.getBottomSectionCoord();
+            sections = new long[world.countVerticalSections()][];
+            chunks.put(key, sections);
+        }
+
+        int sectionIndex = world.getSectionIndex(y);
+        long[] mask = sections[sectionIndex];
+        if (mask == null) {
+            mask = buildMask(world, chunkX, sectionIndex, chunkZ);
+            sections[sectionIndex] = mask;
+        }
+
+        int bit = (x & 15) | ((z & 15) << 4) | ((y & 15) << 8);
+        return (mask[bit >>> 6] & (1L << bit)) != 0;
+    }
+
+    public void onBlockChanged(BlockPos pos) {
+        long[][] sections = chunks.get(ChunkPos.toLong(pos.getX() >> 4, pos.getZ() >> 4));
+        if (sections != null) {
+            int sectionIndex = (pos.getY() >> 4) - bottomSectionCoord;
+            if (sectionIndex >= 0 && sectionIndex < sections.length) {
+                sections[sectionIndex] = null;
+            }
+        }
+    }
+
+    public void onChunkChanged(ChunkPos pos) {
+        chunks.remove(pos.toLong());
+    }
+
+    private long[] buildMask(World world, int chunkX, int sectionIndex, int chunkZ) {
+        ChunkSection section = world.getChunk(chunkX, chunkZ).getSection(sectionIndex);
+        if (section.isEmpty()) {
+            return EMPTY_SECTION;
+        }
+
+        int baseX = chunkX << 4;
+        int baseY = world.sectionIndexToCoord(sectionIndex) << 4;
+        int baseZ = chunkZ << 4;
+
+        long[] mask = new long[64];
+        for (int localY = 0; localY < 16; localY++) {
+            for (int localZ = 0; localZ < 16; localZ++) {
+                for (int localX = 0; localX < 16; localX++) {
+                    BlockState state = section.getBlockState(localX, localY, localZ);
+                    if (state.isAir()) {
+                        continue;
+                    }
+
+                    scanPos.set(baseX + localX, baseY + localY, baseZ + localZ);
+                    if (!state.getCollisionShape(world, scanPos).isEmpty()) {
+                        int bit = localX | (localZ << 4) | (localY << 8);
+                        mask[bit >>> 6] |= 1L << bit;
+                    }
+                }
+            }
+        }
+        return mask;
+    }
+}
@@ -0,0 +1,168 @@
+package net.rizen.submarines.world;
+
+import net.minecraft.entity.Entity;
+import net.minecraft.network.packet.s2c.play.PlaySoundS2CPacket;
+import net.minecraft.registry.Registries;
+import net.minecraft.registry.entry.RegistryEntry;
+import net.minecraft.server.network.ServerPlayerEntity;
+import net.minecraft.server.world.ServerWorld;
+import net.minecraft.sound.SoundCategory;
+import net.minecraft.sound.SoundEvent;
+import net.minecraft.util.math.Vec3d;
+import net.rizen.submarines.api.submarine.BaseSubmarine;
+import net.rizen.submarines.config.SubmarinesConfig;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Picks who hears submarine sounds instead of sending them to every player in vanilla sound range.
+ *
+ * <p>Sound carries poorly between water and air, so a listener in a different medium from the source only hears it
+ * at a quarter of the usual range. Listeners riding a submarine count as underwater. A listener is only sent the
+ * sound if its volume after distance falloff is still audible, except for teammates of the submarine's pilot, who
+ * get it anywhere in range. Cues meant for the pilot alone go straight to them.</p>
+ *
+ * <p>Sonar pings also reach everyone underwater within {@link SubmarinesConfig#sonarPingHearingRange} blocks. Past
+ * normal sound range they are played two blocks from the listener, in the direction of the ping and at the volume
+ * it would have at that distance, so other crews can tell roughly where it came from. The sent volume is raised to
+ * make up for the client's own falloff over those two blocks.</p>
+ */
+public class SoundBroadcaster {
+    /**
+     * Blocks of sound range per unit of volume, the same as the vanilla client uses.
+     */
+    private static final double RANGE_PER_VOLUME = 16.0;
+
+    /**
+     * Range multiplier for a listener in a different medium from the source.
+     */
+    private static final double CROSS_MEDIUM_FACTOR = 0.25;
+
+    /**
+     * Volume after falloff below which a sound is not sent.
+     */
+    private static final float AUDIBLE_VOLUME = 0.05f;
+
+    /**
+     * How far from the listener a distant sonar ping is played.
+     */
+    private static final double DISTANT_PING_OFFSET = 2.0;
+
+    /**
+     * Share of a distant ping's volume the client keeps after its own falloff over {@link #DISTANT_PING_OFFSET}.
+     */
+    private static final float DISTANT_PING_FALLOFF = (float) (1.0 - DISTANT_PING_OFFSET / RANGE_PER_VOLUME);
+
+    /**
+     * Plays a sound from a submarine to the players who can hear it.
+     *
+     * @param submarine the submarine making the sound
+     * @param sound the sound
+     * @param category the sound category
+     * @param volume the volume
+     * @param pitch the pitch
+     * @param alwaysHears a player who gets the sound regardless, such as the one who caused it, or null
+     */
+    public static void play(BaseSubmarine submarine, SoundEvent sound, SoundCategory category, float volume, float pitch,
+                            @Nullable ServerPlayerEntity alwaysHears) {
+        if (!(submarine.getWorld() instanceof ServerWorld world)) {
+            return;
+        }
+
+        RegistryEntry<SoundEvent> entry = Registries.SOUND_EVENT.getEntry(sound);
+        long seed = world.getRandom().nextLong();
+        boolean sourceUnderwater = submarine.isTouchingWater();
+        Entity pilot = submarine.getFirstPassenger();
+        double range = RANGE_PER_VOLUME * Math.max(1.0f, volume);
+
+        for (ServerPlayerEntity listener : world.getPlayers()) {
+            if (listener != alwaysHears && !canHear(submarine, listener, pilot, sourceUnderwater, range, volume)) {
+                continue;
+            }
+            listener.networkHandler.sendPacket(new PlaySoundS2CPacket(entry, category,
+                    submarine.getX(), submarine.getY(), submarine.getZ(), volume, pitch, seed));
+        }
+    }
+
+    /**
+     * Plays a cue only the pilot of a submarine hears, such as a warning on their own console.
+     *
+     * @param submarine the submarine
+     * @param sound the sound
+     * @param category the sound category
+     * @param volume the volume
+     * @param pitch the pitch
+     */
+    public static void playToPilot(BaseSubmarine submarine, SoundEvent sound, SoundCategory category, float volume, float pitch) {
+        if (submarine.getFirstPassenger() instanceof ServerPlayerEntity pilot) {
+            pilot.playSoundToPlayer(sound, category, volume, pitch);
+        }
+    }
+
+    /**
+     * Plays a sonar ping. The pilot is left out since their client plays the ping as soon as they send it.
+     *
+     * @param submarine the pinging submarine
+     * @param sound the ping sound
+     */
+    public static void playSonarPing(BaseSubmarine submarine, SoundEvent sound) {
+        if (!(submarine.getWorld() instanceof ServerWorld world)) {
+            return;
+        }
+
+        RegistryEntry<SoundEvent> entry = Registries.SOUND_EVENT.getEntry(sound);
+        long seed = world.getRandom().nextLong();
+        boolean sourceUnderwater = submarine.isTouchingWater();
+        Entity pilot = submarine.getFirstPassenger();
+        double extendedRange = SubmarinesConfig.sonarPingHearingRange;
+        Vec3d source = submarine.getPos();
+
+        for (ServerPlayerEntity listener : world.getPlayers()) {
+            if (listener == pilot) {
+                continue;
+            }
+
+            if (canHear(submarine, listener, pilot, sourceUnderwater, RANGE_PER_VOLUME, 1.0f)) {
+                listener.networkHandler.sendPacket(new PlaySoundS2CPacket(entry, SoundCategory.NEUTRAL,
+                        source.x, source.y, source.z, 1.0f, 1.0f, seed));
+                continue;
+            }
+
+            if (!sourceUnderwater || !isUnderwater(listener)) {
+                continue;
+            }
+
+            double distance = listener.getPos().distanceTo(source);
+            float volume = (float) (1.0 - distance / extendedRange);
+            if (volume < AUDIBLE_VOLUME) {
+                continue;
+            }
+
+            Vec3d ear = listener.getEyePos();
+            Vec3d position = ear.add(source.subtract(ear).normalize().multiply(DISTANT_PING_OFFSET));
+            float sentVolume = Math.min(1.0f, volume / DISTANT_PING_FALLOFF);
+            listener.networkHandler.sendPacket(new PlaySoundS2CPacket(entry, SoundCategory.NEUTRAL,
+                    position.x, position.y, position.z, sentVolume, 1.0f, seed));
+        }
+    }
+
+    private static boolean canHear(BaseSubmarine submarine, ServerPlayerEntity listener, @Nullable Entity pilot,
+                                   boolean sourceUnderwater, double range, float volume) {
+        if (sourceUnderwater != isUnderwater(listener)) {
+            range *= CROSS_MEDIUM_FACTOR;
+        }
+
+        double distanceSquared = listener.squaredDistanceTo(submarine);
+        if (distanceSquared > range * range) {
+            return false;
+        }
+
+        if (pilot != null && pilot.isTeammate(listener)) {
+            return true;
+        }
+        return volume * (1.0 - Math.sqrt(distanceSquared) / range) >= AUDIBLE_VOLUME;
+    }
+
+    private static boolean isUnderwater(ServerPlayerEntity player) {
+        return player.isSubmergedInWater() || player.getVehicle() instanceof BaseSubmarine;
+    }
+}
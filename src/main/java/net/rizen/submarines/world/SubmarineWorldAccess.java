@@ -0,0 +1,9 @@
+package net.rizen.submarines.world;
+
+/**
+ * Implemented on every world through a mixin so each world carries its own {@link SubmarineWorldData}.
+ * Use {@link SubmarineWorldData#get(net.minecraft.world.World)} instead of casting to this interface directly.
+ */
+public interface SubmarineWorldAccess {
+    SubmarineWorldData submarines$getWorldData();
+}
@@ -0,0 +1,144 @@
+package net.rizen.submarines.world;
+
+import it.unimi.dsi.fastutil.objects.ReferenceArrayList;
+import net.fabricmc.fabric.api.event.lifecycle.v1.ServerChunkEvents;
+import net.fabricmc.fabric.api.event.lifecycle.v1.ServerEntityEvents;
+import net.fabricmc.fabric.api.event.lifecycle.v1.ServerLifecycleEvents;
+import net.fabricmc.fabric.api.event.lifecycle.v1.ServerTickEvents;
+import net.fabricmc.fabric.api.networking.v1.EntityTrackingEvents;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.math.ChunkPos;
+import net.minecraft.world.World;
+import net.rizen.submarines.api.submarine.BaseSubmarine;
+import net.rizen.submarines.api.torpedo.BaseTorpedo;
+import net.rizen.submarines.network.ReplicationManager;
+
+import java.util.List;
+
+/**
+ * Per-world state kept by the mod. Each world, client or server, owns one instance so the indexes in here
+ * are only ever touched from the thread that ticks that world.
+ */
+public class SubmarineWorldData {
+    private final WaterEntityIndex waterEntityIndex = new WaterEntityIndex();
+    private final DormantSubmarineTracker dormantSubmarines = new DormantSubmarineTracker();
+    private final WaterSurfaceCache waterSurfaceCache = new WaterSurfaceCache();
+    private final SolidMaskCache solidMaskCache = new SolidMaskCache();
+    private final ContactProxyCache contactProxies = new ContactProxyCache();
+    private final ReferenceArrayList<BaseSubmarine> submarines = new ReferenceArrayList<>();
+    private final ReferenceArrayList<BaseTorpedo> torpedoes = new ReferenceArrayList<>();
+    private final ReplicationManager replication = new ReplicationManager();
+
+    public static SubmarineWorldData get(World world) {
+        return ((SubmarineWorldAccess) world).submarines$getWorldData();
+    }
+
+    public WaterEntityIndex getWaterEntityIndex() {
+        return waterEntityIndex;
+    }
+
+    public DormantSubmarineTracker getDormantSubmarines() {
+        return dormantSubmarines;
+    }
+
+    public WaterSurfaceCache getWaterSurfaceCache() {
+        return waterSurfaceCache;
+    }
+
+    public SolidMaskCache getSolidMaskCache() {
+        return solidMaskCache;
+    }
+
+    public ReplicationManager getReplication() {
+        return replication;
+    }
+
+    /**
+     * Gets the distant submarines reported by the server. Only filled in on the client.
+     *
+     * @return the contact cache
+     */
+    public ContactProxyCache getContactProxies() {
+        return contactProxies;
+    }
+
+    /**
+     * Gets every submarine loaded in this world. Only kept for server worlds.
+     *
+     * @return the loaded submarines
+     */
+    public List<BaseSubmarine> getSubmarines() {
+        return submarines;
+    }
+
+    /**
+     * Gets every torpedo loaded in this world. Only kept for server worlds.
+     *
+     * @return the loaded torpedoes
+     */
+    public List<BaseTorpedo> getTorpedoes() {
+        return torpedoes;
+    }
+
+    /**
+     * Called whenever a block in this world changes state.
+     *
+     * @param pos the block that changed
+     */
+    public void onBlockChanged(BlockPos pos) {
+        waterSurfaceCache.onBlockChanged(pos);
+        solidMaskCache.onBlockChanged(pos);
+        dormantSubmarines.onBlockChanged(pos);
+    }
+
+    /**
+     * Called when a chunk is loaded or unloaded, so anything cached about it can be dropped.
+     *
+     * @param pos the chunk position
+     */
+    public void onChunkChanged(ChunkPos pos) {
+        waterSurfaceCache.onChunkChanged(pos);
+        solidMaskCache.onChunkChanged(pos);
+    }
+
+    /**
+     * Hooks chunk and entity load and unload events, entity tracking and movement replication for server worlds, and clears the shared preload ticket count when the
+     * server stops. Client worlds are hooked from the client initializer.
+     */
+    public static void registerEvents() {
+        ServerLifecycleEvents.SERVER_STOPPED.register(server -> ChunkPreloader.resetTicketCount());
+        ServerChunkEvents.CHUNK_LOAD.register((world, chunk) -> get(world).onChunkChanged(chunk.getPos()));
+        ServerChunkEvents.CHUNK_UNLOAD.register((world, chunk) -> get(world).onChunkChanged(chunk.getPos()));
+        ServerEntityEvents.ENTITY_LOAD.register((entity, world) -> {
+            if (entity instanceof BaseSubmarine submarine) {
+                get(world).submarines.add(submarine);
+            } else if (entity instanceof BaseTorpedo torpedo) {
+                get(world).torpedoes.add(torpedo);
+            }
+        });
+        ServerEntityEvents.ENTITY_UNLOAD.register((entity, world) -> {
+            SubmarineWorldData data = get(world);
+            if (entity instanceof BaseSubmarine submarine) {
+                data.submarines.remove(submarine);
+                data.replication.onEntityUnloaded(submarine);
+            } else if (entity instanceof BaseTorpedo torpedo) {
+                data.torpedoes.remove(torpedo);
+                data.replication.onEntityUnloaded(torpedo);
+            }
+        });
+        EntityTrackingEvents.START_TRACKING.register((entity, player) -> {
+            if (entity instanceof BaseSubmarine || entity instanceof BaseTorpedo) {
+                get(entity.getWorld()).replication.onStartTracking(entity, player);
+            }
+        });
+        EntityTrackingEvents.STOP_TRACKING.register((entity, player) -> {
+            if (entity instanceof BaseSubmarine || entity instanceof BaseTorpedo) {
+                get(entity.getWorld()).replication.onStopTracking(entity, player);
+            }
+        });
+        ServerTickEvents.END_WORLD_TICK.register(world -> {
+            SubmarineWorldData data = get(world);
+            data.replication.tick(world, data.submarines, data.torpedoes);
+        });
+    }
+}
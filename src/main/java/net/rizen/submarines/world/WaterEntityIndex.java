@@ -0,0 +1,117 @@
+package net.rizen.submarines.world;
+
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.objects.ReferenceOpenHashSet;
+import net.minecraft.entity.Entity;
+import net.minecraft.util.math.ChunkSectionPos;
+import net.minecraft.util.math.MathHelper;
+import net.minecraft.util.math.Vec3d;
+
+import java.util.function.Consumer;
+
+/**
+ * Index of every entity that is currently in water, bucketed by chunk section. Entities move between buckets
+ * only when they enter or leave water or cross a section boundary, so keeping the index up to date costs
+ * almost nothing per tick. Sonar uses it to look at submerged entities only, instead of scanning every entity
+ * in a large box and throwing away the ones on land.
+ */
+public class WaterEntityIndex {
+    /**
+     * Marker for an entity that is not in the index. This packs to a section far outside the world border,
+     * so it can never collide with a real section key.
+     */
+    public static final long NOT_INDEXED = Long.MAX_VALUE;
+
+    private final Long2ObjectOpenHashMap<ReferenceOpenHashSet<Entity>> sections = new Long2ObjectOpenHashMap<>();
+
+    /**
+     * Moves an entity from one section bucket to another. Either key may be {@link #NOT_INDEXED} to add
+     * or remove the entity.
+     *
+     * @param entity the entity that moved
+     * @param fromSection the packed section the entity was indexed under
+     * @param toSection the packed section the entity should now be indexed under
+     */
+    public void move(Entity entity, long fromSection, long toSection) {
+        if (fromSection == toSection) {
+            return;
+        }
+
+        if (fromSection != NOT_INDEXED) {
+            ReferenceOpenHashSet<Entity> bucket = sections.get(fromSection);
+            if (bucket != null) {
+                bucket.remove(entity);
+                if (bucket.isEmpty()) {
+                    sections.remove(fromSection);
+                }
+            }
+        }
+
+        if (toSection != NOT_INDEXED) {
+            sections.computeIfAbsent(toSection, key -> new ReferenceOpenHashSet<>()).add(entity);
+        }
+    }
+
+    /**
+     * Visits every indexed entity in the sections that overlap a sphere. The sphere only selects sections,
+     * so callers still need to check the exact distance of each entity.
+     *
+     * @param center the center of the sphere
+     * @param radius the radius of the sphere
+     * @param consumer called once for each entity found
+     */
+    public void forEachInRange(Vec3d center, double radius, Consumer<Entity> consumer) {
+        if (sections.isEmpty()) {
+            return;
+        }
+
+        int minX = ChunkSectionPos.getSectionCoord(MathHelper.floor(center.x - radius));
+        int minY = ChunkSectionPos.getSectionCoord(MathHelper.floor(center.y - radius));
+        int minZ = ChunkSectionPos.getSectionCoord(MathHelper.floor(center.z - radius));
+        int maxX = ChunkSectionPos.getSectionCoord(MathHelper.floor(center.x + radius));
+        int maxY = ChunkSectionPos.getSectionCoord(MathHelper.floor(center.y + radius));
+        int maxZ = ChunkSectionPos.getSectionCoord(MathHelper.floor(center.z + radius));
+        double radiusSquared = radius * radius;
+
+        for (int sx = minX; sx <= maxX; sx++) {
+            double dx = distanceToSpan(center.x, sx);
+            for (int sz = minZ; sz <= maxZ; sz++) {
+                double dz = distanceToSpan(center.z, sz);
+                double horizontalSquared = dx * dx + dz * dz;
+                if (horizontalSquared > radiusSquared) {
+                    continue;
+                }
+
+                for (int sy = minY; sy <= maxY; sy++) {
+                    double dy = distanceToSpan(center.y, sy);
+                    if (horizontalSquared + dy * dy > radiusSquared) {
+                        continue;
+                    }
+
+                    ReferenceOpenHashSet<Entity> bucket = sections.get(ChunkSectionPos.asLong(sx, sy, sz));
+                    if (bucket == null) {
+                        continue;
+                    }
+
+                    for (Entity entity : bucket) {
+                        if (!entity.isRemoved()) {
+                            consumer.accept(entity);
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    private static double distanceToSpan(double coordinate, int sectionCoord) {
+        double min = ChunkSectionPos.getBlockCoord(sectionCoord);
+        double max = min + 16.0;
+        if (coordinate < min) {
+            return min - coordinate;
+        }
+        if (coordinate > max) {
+            return coordinate - max;
+        }
+        return 0.0;
+    }
+}
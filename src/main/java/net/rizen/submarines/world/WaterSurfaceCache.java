@@ -0,0 +1,90 @@
+package net.rizen.submarines.world;
+
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import net.minecraft.registry.tag.FluidTags;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.math.ChunkPos;
+import net.minecraft.world.Heightmap;
+import net.minecraft.world.World;
+
+import java.util.Arrays;
+
+/**
+ * Cache of the water surface height for each block column, stored per chunk. A column's surface is found once,
+ * using the motion-blocking heightmap (which counts fluids) and a short downward scan when the top block is not
+ * water, for example under ice or a lily pad. Block changes in a column and chunk loads and unloads throw the
+ * cached value away, so it is found again the next time someone asks.
+ */
+public class WaterSurfaceCache {
+    /**
+     * Returned when a column has no water near its top.
+     */
+    public static final int NO_WATER = Integer.MIN_VALUE;
+    private static final int UNCOMPUTED = Integer.MIN_VALUE + 1;
+
+    /**
+     * How far below the top block to look for water, so ice sheets and floating blocks do not hide the surface.
+     */
+    private static final int MAX_SCAN_DEPTH = 16;
+
+    private final Long2ObjectOpenHashMap<int[]> chunks = new Long2ObjectOpenHashMap<>();
+    private final BlockPos.Mutable scanPos = new BlockPos.Mutable();
+
+    /**
+     * Gets the water surface height of a column, meaning the Y of the first non-water block above the
+     * highest water in that column.
+     *
+     * @param world the world the column is in
+     * @param x block X
+     * @param z block Z
+     * @return the surface Y, or {@link #NO_WATER} if there is no water near the top of the column
+     */
+    public int getSurfaceY(World world, int x, int z) {
+        int[] columns = chunks.computeIfAbsent(ChunkPos.toLong(x >> 4, z >> 4), key -> newColumnArray());
+        int index = columnIndex(x, z);
+
+        int surfaceY = columns[index];
+        if (surfaceY == UNCOMPUTED) {
+            surfaceY = computeSurface(world, x, z);
+            columns[index] = surfaceY;
+        }
+        return surfaceY;
+    }
+
+    public void onBlockChanged(BlockPos pos) {
+        int[] columns = chunks.get(ChunkPos.toLong(pos.getX() >> 4, pos.getZ() >> 4));
+        if (columns != null) {
+            columns[columnIndex(pos.getX(), pos.getZ())] = UNCOMPUTED;
+        }
+    }
+
+    public void onChunkChanged(ChunkPos pos) {
+        chunks.remove(pos.toLong());
+    }
+
+    private int computeSurface(World world, int x, int z) {
+        if (!world.isChunkLoaded(x >> 4, z >> 4)) {
+            return NO_WATER;
+        }
+
+        int topY = world.getTopY(Heightmap.Type.MOTION_BLOCKING, x, z);
+        int bottomY = Math.max(world.getBottomY(), topY - MAX_SCAN_DEPTH);
+        for (int y = topY - 1; y >= bottomY; y--) {
+            scanPos.set(x, y, z);
+            if (world.getFluidState(scanPos).isIn(FluidTags.WATER)) {
+                return y + 1;
+            }
+        }
+        return NO_WATER;
+    }
+
+    private static int columnIndex(int x, int z) {
+        return (x & 15) | ((z & 15) << 4);
+    }
+
+    private static int[] newColumnArray() {
+        int[] columns = new int[256];
+        Arrays.fill(columns, UNCOMPUTED);
+        return columns;
+    }
+}